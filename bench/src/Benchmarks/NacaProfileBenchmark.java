@@ -0,0 +1,76 @@
+package Benchmarks;
+
+import Tools.AirfoilSpec;
+import Tools.NacaProfileEngine;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * NACA 4- and 5-series profile generation: whole profiles through the
+ * engine, with and without parsing the designation, and point by point.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NacaProfileBenchmark {
+
+    @Param({"0012", "2412", "4415", "23012", "23112"})
+    public String designation;
+
+    private AirfoilSpec spec;
+    private double[] stations;
+    private double[] x;
+    private double[] y;
+    private double[] coord;
+
+    @Setup
+    public void setup() {
+        spec = AirfoilSpec.parse(designation);
+        stations = NacaProfileEngine.getDefaultStations();
+        int n = NacaProfileEngine.getPointCount(stations.length);
+        x = new double[n];
+        y = new double[n];
+        coord = new double[2];
+    }
+
+    @Benchmark
+    public double[] fillProfile() {
+        NacaProfileEngine.fillProfile(spec, stations, x, y);
+        return y;
+    }
+
+    @Benchmark
+    public double[] parseAndFillProfile() {
+        NacaProfileEngine.fillProfile(designation, stations, x, y);
+        return y;
+    }
+
+    @Benchmark
+    public AirfoilSpec parse() {
+        return AirfoilSpec.parse(designation);
+    }
+
+    @Benchmark
+    public void pointwise(Blackhole bh) {
+        for (int i = 0; i < stations.length; ++i) {
+            spec.point(stations[i], true, coord);
+            bh.consume(coord[1]);
+            spec.point(stations[i], false, coord);
+            bh.consume(coord[1]);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package Benchmarks;
+
+import Tools.HyperbolicTangentTable;
+import Tools.PrismLayerMath;
+import Tools.PrismLayerSolver;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Prism layer relations for both stretching functions. Inputs of the inverse
+ * solves are generated from the forward relations, so every benchmark solves
+ * a consistent problem. The inverse solves reuse one solver Result, as the
+ * calculator does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrismLayerBenchmark {
+
+    @Param({"5", "20", "60"})
+    public int layers;
+
+    @Param({"GP", "HT"})
+    public String function;
+
+    private double totalThick;
+    private double stretch;
+    private double nearWall;
+    private double thicknessRatio;
+    private final PrismLayerSolver solver = PrismLayerSolver.getDefault();
+    private final PrismLayerSolver.Result result = new PrismLayerSolver.Result();
+
+    @Setup
+    public void setup() {
+        totalThick = 1.0;
+        if ("GP".equals(function)) {
+            stretch = 1.2;
+            nearWall = PrismLayerMath.calcNearWallThicknessFromStretchingGP(layers, totalThick, stretch);
+            thicknessRatio = PrismLayerMath.calcThicknessRatioFromStretchingRatioGP(layers, stretch);
+        } else {
+            stretch = 3.0;
+            nearWall = PrismLayerMath.calcNearWallThicknessFromStretchingHT(layers, totalThick, stretch);
+            thicknessRatio = PrismLayerMath.calcThicknessRatioFromStretchingRatioHT(layers, stretch);
+        }
+    }
+
+    @Benchmark
+    public double nearWallFromStretching() {
+        if ("GP".equals(function)) {
+            return PrismLayerMath.calcNearWallThicknessFromStretchingGP(layers, totalThick, stretch);
+        }
+        return PrismLayerMath.calcNearWallThicknessFromStretchingHT(layers, totalThick, stretch);
+    }
+
+    @Benchmark
+    public double stretchingFromNearWall() {
+        if ("GP".equals(function)) {
+            solver.stretchingFromNearWallGP(layers, totalThick, nearWall, result);
+        } else {
+            solver.stretchingFromNearWallHT(layers, totalThick, nearWall, result);
+        }
+        return result.getValue();
+    }
+
+    @Benchmark
+    public double stretchingFromThicknessRatio() {
+        if ("GP".equals(function)) {
+            return PrismLayerMath.calcStretchingRatioFromThicknessRatioGP(layers, thicknessRatio);
+        }
+        solver.stretchingFromThicknessRatioHT(layers, thicknessRatio, result);
+        return result.getValue();
+    }
+
+    @Benchmark
+    public double stretchingFromThicknessRatioTable() {
+        if ("GP".equals(function)) {
+            return PrismLayerMath.calcStretchingRatioFromThicknessRatioGP(layers, thicknessRatio);
+        }
+        return HyperbolicTangentTable.stretchingFromThicknessRatio(layers, thicknessRatio);
+    }
+}
@@ -0,0 +1,76 @@
+package Benchmarks;
+
+import Tools.SkinFriction;
+import Tools.WallSpacingEngine;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Skin-friction correlations and near-wall spacing over a range of Reynolds
+ * numbers (1e4 to 1e9), one correlation at a time, and all correlations at
+ * once through WallSpacingEngine.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WallYpBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({"0", "1", "2", "3", "4", "5"})
+    public int correlation;
+
+    private double[] reynolds;
+    private double[] velocity;
+    private int next;
+
+    @Setup
+    public void setup() {
+        reynolds = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; ++i) {
+            reynolds[i] = Math.pow(10.0, 4.0 + 5.0 * i / (SAMPLES - 1));
+        }
+        // the same Reynolds numbers at rho = 1.184, mu = 1.885e-5 and Lref = 1
+        velocity = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; ++i) {
+            velocity[i] = reynolds[i] * 1.885e-5 / 1.184;
+        }
+    }
+
+    @Benchmark
+    public double calculateCf() {
+        next = (next + 1) & (SAMPLES - 1);
+        return SkinFriction.calculateCf(correlation, reynolds[next]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public double nearWallSweep() {
+        double sum = 0.0;
+        for (int i = 0; i < SAMPLES; ++i) {
+            double Cf = SkinFriction.calculateCf(correlation, reynolds[i]);
+            sum += SkinFriction.nearWallThickness(Cf, 1.0, 50.0, 1.184, 1.885e-5);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public WallSpacingEngine.Result allCorrelationsSweep() {
+        return WallSpacingEngine.evaluate(velocity, new double[]{1.184}, new double[]{1.885e-5},
+                new double[]{1.0}, new double[]{1.0});
+    }
+}
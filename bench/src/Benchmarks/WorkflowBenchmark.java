@@ -0,0 +1,78 @@
+package Benchmarks;
+
+import Tools.CadWorkflow;
+import Tools.ChordwiseDistribution;
+import Tools.InMemorySimulation;
+import Tools.PreProcessingWorkflow;
+import Tools.WingLoftGenerator;
+import Tools.WingPlanform;
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Whole assistant workflows against the in-memory simulation: material
+ * properties of several gas continua, the wing loft from planform to
+ * 3D-CAD features, and resizing the farfield domain. Regression timing of
+ * the workflow logic, without STAR-CCM+.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkflowBenchmark {
+
+    @Param({"1", "4"})
+    public int continua;
+
+    private InMemorySimulation sim;
+    private PreProcessingWorkflow preProcessing;
+    private CadWorkflow cad;
+    private WingPlanform planform;
+
+    @Setup
+    public void setup() {
+        sim = new InMemorySimulation(new File("."));
+        for (int i = 0; i < continua; ++i) {
+            sim.addContinuum("Gas " + i, true, 101325.0 - 1000.0 * i, 28.9664);
+        }
+        sim.addCadModel(CadWorkflow.DOMAIN_CAD_MODEL);
+        preProcessing = new PreProcessingWorkflow(sim);
+        preProcessing.createAllAeroParameters();
+        cad = new CadWorkflow(sim);
+        cad.buildRectangularDomain();
+        planform = new WingPlanform(3.0, 1.0, 0.5, 10.0, 2.0, 2.0, 0.0, 9, "2412", "0012");
+    }
+
+    @Benchmark
+    public List<String> setMaterialProperties() {
+        return preProcessing.setMaterialProperties();
+    }
+
+    @Benchmark
+    public double resizeDomain() {
+        return cad.resizeDomain(10.0, 20.0, 15.0);
+    }
+
+    @Benchmark
+    public int loftWing() {
+        // a fresh record per loft keeps the feature list from growing
+        sim.addCadModel("Wing");
+        WingLoftGenerator.Result result = WingLoftGenerator.generate(planform, ChordwiseDistribution.getDefault());
+        cad.loftWing(result.getStations(), "Wing");
+        return sim.getCadModel("Wing").getSplinePointCount();
+    }
+}
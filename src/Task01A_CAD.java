@@ -1,9 +1,28 @@
 // Adding a comment to the default task.
 
+import Tools.AirfoilCache;
+import Tools.AirfoilLibrary;
+import Tools.AirfoilProfile;
+import Tools.AirfoilSection;
+import Tools.CadWorkflow;
+import Tools.ChordwiseDistribution;
+import Tools.CoordinateFileSink;
+import Tools.DomainSweep;
 import Tools.NacaPanel;
+import Tools.NacaSweep;
+import Tools.NacaValidator;
+import Tools.SimulationFacade;
+import Tools.StarSimulation;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import javax.swing.JFileChooser;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import star.assistant.Task;
 import star.assistant.annotation.StarAssistantTask;
 import star.assistant.ui.FunctionTaskController;
@@ -18,62 +37,52 @@ public class Task01A_CAD extends Task {
         
     public class CADTaskController extends FunctionTaskController {
 
-        public void buildRectangularDomain() {
+        // facade of the active simulation, shared by all actions
+        private StarSimulation _facade;
 
-            // preliminaries
+        public void buildRectangularDomain() {
+            new CadWorkflow(getFacade()).buildRectangularDomain();
+        }
+        
+        public void setDomainSize( double upstream, double downstream, double halfHeight ) {
             Simulation sim = getActiveSimulation();
-            CadModel cadModel_0 = ((CadModel) sim.get(SolidModelManager.class).getObject("3D-CAD Model 1"));
-            CanonicalSketchPlane canonicalSketchPlane_0 = ((CanonicalSketchPlane) cadModel_0.getFeature("XY"));
-
-            // build sketch
-            Sketch sketch_0 = cadModel_0.getFeatureManager().createSketch(canonicalSketchPlane_0);
-            sketch_0.setPresentationName("Sketch: Rectangular Farfield");
-            cadModel_0.getFeatureManager().startSketchEdit(sketch_0);
-            Units units_m = sim.getUnitsManager().getUnits("m");
-
-            // create points for sketch
-            PointSketchPrimitive point_0 = sketch_0.createPoint(new DoubleVector(new double[]{ 0.0, 0.0}));
-            PointSketchPrimitive point_1 = sketch_0.createPoint(new DoubleVector(new double[]{-1.0, 0.0}));
-            PointSketchPrimitive point_2 = sketch_0.createPoint(new DoubleVector(new double[]{-1.0, 1.0}));
-            PointSketchPrimitive point_3 = sketch_0.createPoint(new DoubleVector(new double[]{ 1.0, 1.0}));
-            PointSketchPrimitive point_4 = sketch_0.createPoint(new DoubleVector(new double[]{ 1.0,-1.0}));
-            PointSketchPrimitive point_5 = sketch_0.createPoint(new DoubleVector(new double[]{-1.0,-1.0}));
             
-            // make lines
-            LineSketchPrimitive lineSketchPrimitive_0 = sketch_0.createLine(point_0, point_1);
-            sketch_0.createHorizontalConstraint(lineSketchPrimitive_0);
-            LineSketchPrimitive lineSketchPrimitive_1 = sketch_0.createLine(point_1, point_2);
-            sketch_0.createVerticalConstraint(lineSketchPrimitive_1);
-            LineSketchPrimitive lineSketchPrimitive_2 = sketch_0.createLine(point_2, point_3);
-            sketch_0.createHorizontalConstraint(lineSketchPrimitive_2);
-            LineSketchPrimitive lineSketchPrimitive_3 = sketch_0.createLine(point_3, point_4);
-            sketch_0.createVerticalConstraint(lineSketchPrimitive_3);
-            LineSketchPrimitive lineSketchPrimitive_4 = sketch_0.createLine(point_4, point_5);
-            sketch_0.createHorizontalConstraint(lineSketchPrimitive_4);
-            LineSketchPrimitive lineSketchPrimitive_5 = sketch_0.createLine(point_5, point_1);
-            sketch_0.createVerticalConstraint(lineSketchPrimitive_5);
-
-            // add constraints
-            sketch_0.createFixationConstraint(point_0);
-            sketch_0.setConstructionState(new NeoObjectVector(new Object[]{lineSketchPrimitive_0}), true);
-            sketch_0.createEqualLengthConstraint(lineSketchPrimitive_1, lineSketchPrimitive_5);
-
-            // create dimensions
-            LengthDimension lengthDimension_0 = sketch_0.createLengthDimension(lineSketchPrimitive_0, 1.0, units_m);
-            lengthDimension_0.getLength().createDesignParameter("L_up");
-
-            HorizontalDistanceDimension horizontalDistanceDimension_0 = sketch_0.createHorizontalDistanceDimension(point_0, point_3, 1.0, units_m);
-            horizontalDistanceDimension_0.getDistance().createDesignParameter("L_down");
-
-            LengthDimension lengthDimension_1 = sketch_0.createLengthDimension(lineSketchPrimitive_1, 1.0, units_m);
-            lengthDimension_1.getLength().createDesignParameter("HalfHeight");
-
-            // end sketch
-            sketch_0.markFeatureForEdit();
-            cadModel_0.getFeatureManager().stopSketchEdit(sketch_0, true);
-            sketch_0.setIsUptoDate(true);
-            cadModel_0.getFeatureManager().rollForwardToEnd();
-
+            // all three design parameters in one regeneration
+            try {
+                double seconds = new CadWorkflow(getFacade()).resizeDomain(upstream, downstream, halfHeight);
+                sim.println("  *** Regenerated farfield domain in " + String.format("%.3f", seconds) + " s ***  ");
+            } catch (IllegalArgumentException ex) {
+                sim.println("  *** Could not resize farfield domain: " + ex.getMessage() + " ***  ");
+            }
+        }
+        
+        public DomainSweep sweepDomainSizes( double[][] sizes ) {
+            Simulation sim = getActiveSimulation();
+            
+            // one regeneration per size
+            DomainSweep sweep;
+            try {
+                sweep = new CadWorkflow(getFacade()).sweepDomain(sizes, null);
+            } catch (IllegalArgumentException ex) {
+                sim.println("  *** Domain sweep failed: " + ex.getMessage() + " ***  ");
+                return null;
+            }
+            for (int i = 0; i < sweep.size(); ++i) {
+                double[] size = sweep.getSize(i);
+                sim.println("  *** L_up = " + size[0] + ", L_down = " + size[1] + ", HalfHeight = " + size[2]
+                        + ": regenerated in " + String.format("%.3f", sweep.getRegenerationSeconds(i)) + " s ***  ");
+            }
+            
+            // timings are written once the sweep has run
+            File outFile = new File(sim.getSessionDir(), "domain_sweep.csv");
+            try (Writer out = new BufferedWriter(new FileWriter(outFile))) {
+                sweep.writeCsv(out);
+                sim.println("  *** Regenerated " + sweep.size() + " domain sizes in "
+                        + String.format("%.3f", sweep.getTotalSeconds()) + " s: " + outFile.getPath() + " ***  ");
+            } catch (IOException ex) {
+                sim.println("  *** Could not write " + outFile.getPath() + ": " + ex.getMessage() + " ***  ");
+            }
+            return sweep;
         }
         
         public void createNACA_Series() {
@@ -95,195 +104,164 @@ public class Task01A_CAD extends Task {
                 sim.println("\n  *** Building sketch of a NACA " + nacaString
                         + " airfoil using the XY-plane in 3D-CAD model: " + cadName + " ***  ");
 
-                // build points from definition
-                ArrayList<DoubleVector> all_coords = buildNACAProfile(nacaString);
-
-                // make sketch
-                Sketch sketch_0 = createSketch_NACA_blunt(all_coords, cadName);
-                sketch_0.setPresentationName("Sketch: NACA " + nacaString);
+                // build points from definition and make sketch
+                new CadWorkflow(getFacade()).sketchNaca(nacaString, tp.getDistribution(), cadName);
             } else {
-                if (!profile_ok) sim.print("Invalid NACA series specification...");
+                if (!profile_ok) sim.print("Invalid NACA series specification (" + NacaValidator.check(tp.getNACA()).getDescription() + ")...");
                 sim.println("Exiting!!!");
             }
         }    
                 
-        // ===============================================
-        // helper routines
-        // ===============================================
-        
-        public boolean validateNacaSpec( String name ) {
-            boolean isValid = false;
+        public void createNACA_Sweep() {
+
+            Simulation sim = getActiveSimulation();
             
-            // check 4-series names
-            if (name.length()==4) {
-                isValid = true;
+            // ask user for a designation pattern, e.g. every even thickness from 6 to 24%
+            sim.print("  *** Opening the NACA series input panel...");
+            NacaPanel tp = new NacaPanel(sim);
+            tp.setNACA("{00,24,44}[06-24/2]");
+            boolean ok = promptUserForInput("NACA sweep pattern", tp);
+            if (!ok) {
+                sim.println("Exiting!!!");
+                return;
             }
             
-            // check 5-series names
-            Collection<String> valid5series = new ArrayList<>( Arrays.asList("210", "220", "230", "240", "250", "221", "231", "241", "251") );
-            String nameLeadingSpec = name.substring(0, 3);
-            if (name.length()==5) {
-                for (String valid_0 : valid5series) {
-                    if (valid_0.equals(nameLeadingSpec)) {
-                        isValid = true;
-                        break;
-                    }
+            // generate all profiles in parallel, streaming them to a coordinate file
+            File outFile = new File(sim.getSessionDir(), "NACA_sweep.dat");
+            try (CoordinateFileSink sink = new CoordinateFileSink(outFile)) {
+                NacaSweep.Result result = NacaSweep.run(tp.getNACA(), tp.getDistribution(), sink);
+                sim.println("\n  *** Generated " + result.getGenerated() + " NACA profiles in "
+                        + String.format("%.3f", result.getElapsedSeconds()) + " s: " + outFile.getPath() + " ***  ");
+                if (!result.getRejected().isEmpty()) {
+                    sim.println("  *** Skipped invalid specifications: " + result.getRejected() + " ***  ");
                 }
-                
+            } catch (IOException | IllegalArgumentException ex) {
+                sim.println("  *** NACA sweep failed: " + ex.getMessage() + " ***  ");
             }
-            
-            return isValid;
         }
         
-        // <editor-fold defaultstate="collapsed" desc="public ArrayList<DoubleVector> buildNACAProfile( String digits )">
-        public ArrayList<DoubleVector> buildNACAProfile( String digits ) {
-            
-            int naca_length = digits.length();
+        public void createSketchFromLibrary() {
+
+            Simulation sim = getActiveSimulation();
             
-            // generate x-coordinates (symmetric spacing about x=0.5, small near LE/TE)
-            double x[] = new double[31];
-            for (int i=0; i<15; ++i) {
-                double tmp = ((double) i)/15.0;
-                x[i] = -0.01898*tmp + 0.73302*tmp*tmp - 0.21316*tmp*tmp*tmp;
-                x[30-i] = 1.0-x[i];
+            // ask user for the section name and the 3D-CAD model
+            sim.print("  *** Opening the NACA series input panel...");
+            NacaPanel tp = new NacaPanel(sim);
+            boolean ok = promptUserForInput("Airfoil library section", tp);
+            if (!ok) {
+                sim.println("Exiting!!!");
+                return;
             }
-            x[15] = 0.5;
             
-            // get airfoil surface (y-coordinates).
-            // upper: back to front
-            ArrayList<DoubleVector> all_coords = new ArrayList<>();
-            for (int i=30; i>=0; --i) {
-                double[] xy;
-                if (naca_length == 5) {
-                    xy = NACA5_coord( digits, x[i], "upper" );
-                } else {
-                    xy = NACA4_coord( digits, x[i], "upper" );
+            String name = tp.getNACA();
+            try (AirfoilLibrary library = openAirfoilLibrary()) {
+                AirfoilProfile profile = library.getProfile(name);
+                
+                // generate and store NACA sections that are not in the library yet
+                if (profile == null && validateNacaSpec(name)) {
+                    profile = AirfoilCache.getDefault().getProfile(name, tp.getDistribution());
+                    library.add(profile);
                 }
-                all_coords.add( new DoubleVector(xy) );
-            }
-            // upper: front to back (skip first point)
-            for (int i=1; i<31; ++i) {
-                double[] xy;
-                if (naca_length == 5) {
-                    xy = NACA5_coord( digits, x[i], "lower" );
-                } else {
-                    xy = NACA4_coord( digits, x[i], "lower" );
+                
+                if (profile == null) {
+                    sim.println("  *** Section " + name + " not found in " + library.getFile().getPath() + " ***  ");
+                    return;
                 }
-                all_coords.add( new DoubleVector(xy) );
+                
+                sim.println("\n  *** Building sketch of airfoil " + name
+                        + " using the XY-plane in 3D-CAD model: " + tp.getCAD() + " ***  ");
+                new CadWorkflow(getFacade()).sketchProfile(profile, tp.getCAD(), "Sketch: " + name);
+            } catch (IOException ex) {
+                sim.println("  *** Could not use airfoil library: " + ex.getMessage() + " ***  ");
             }
-            
-            return all_coords;
         }
-        //</editor-fold>
         
-        // <editor-fold defaultstate="collapsed" desc="public double[] NACA4_coord( String digits, double x, String surface )">
-        public double[] NACA4_coord( String digits, double x, String surface ) {
+        public void importSeligAirfoils() {
 
-            // get coefficients from NACA string
-            double m = ( (double) Character.getNumericValue(digits.charAt(0)))/100.0;
-            double p = ( (double) Character.getNumericValue(digits.charAt(1)))/10.0;
-            double t = Double.parseDouble(digits.substring(2))/100.0;
-            
-            // get yt
-            double yt = 5.0*t*(0.2969*Math.sqrt(x)-0.1260*x-0.3516*x*x+0.2843*x*x*x-0.1015*x*x*x*x);
+            Simulation sim = getActiveSimulation();
             
-            // get mean camber line
-            double yc;
-            if (x < p) {
-                yc = m/(p*p)*(2.0*p*x-x*x);
-            } else {
-                yc = m/((1.0-p)*(1.0-p))*( (1.0-2.0*p)+2.0*p*x-x*x);
+            // pick one or more Selig .dat files
+            JFileChooser chooser = new JFileChooser(sim.getSessionDir());
+            chooser.setMultiSelectionEnabled(true);
+            chooser.setFileFilter(new FileNameExtensionFilter("Selig airfoil files (*.dat)", "dat"));
+            if (chooser.showOpenDialog(null) != JFileChooser.APPROVE_OPTION) {
+                sim.println("Exiting!!!");
+                return;
             }
             
-            // get dyc/dx
-            double dyc_dx;
-            if (x < p) {
-                dyc_dx = 2.0*m/(p*p)*(p-x);
-            } else {
-                dyc_dx = 2.0*m/((1.0-p)*(1.0-p))*(p-x);
+            try (AirfoilLibrary library = openAirfoilLibrary()) {
+                for (File datFile : chooser.getSelectedFiles()) {
+                    try {
+                        AirfoilProfile profile = library.importSelig(datFile);
+                        sim.println("  *** Imported " + profile.getName() + " (" + profile.getPointCount() + " points) ***  ");
+                    } catch (IOException ex) {
+                        sim.println("  *** Skipped " + datFile.getName() + ": " + ex.getMessage() + " ***  ");
+                    }
+                }
+                library.flush();
+                sim.println("  *** Airfoil library " + library.getFile().getPath() + " holds " + library.size() + " sections ***  ");
+            } catch (IOException ex) {
+                sim.println("  *** Could not use airfoil library: " + ex.getMessage() + " ***  ");
+            }
+        }
+        
+        // ===============================================
+        // helper routines
+        // ===============================================
+        
+        public StarSimulation getFacade() {
+            Simulation sim = getActiveSimulation();
+            if (_facade == null || _facade.getSimulation() != sim) {
+                _facade = new StarSimulation(sim);
             }
-            double theta = Math.atan(dyc_dx);
+            return _facade;
+        }
+        
+        public AirfoilLibrary openAirfoilLibrary() throws IOException {
+            Simulation sim = getActiveSimulation();
+            return AirfoilLibrary.open(new File(sim.getSessionDir(), "airfoils.aflib"));
+        }
+        
+        public boolean validateNacaSpec( String name ) {
+            return NacaValidator.isValid(name);
+        }
+        
+        // <editor-fold defaultstate="collapsed" desc="public ArrayList<DoubleVector> buildNACAProfile( String digits )">
+        public ArrayList<DoubleVector> buildNACAProfile( String digits ) {
+            return buildNACAProfile(digits, ChordwiseDistribution.getDefault());
+        }
+        //</editor-fold>
+        
+        // <editor-fold defaultstate="collapsed" desc="public ArrayList<DoubleVector> buildNACAProfile( String digits, ChordwiseDistribution distribution )">
+        public ArrayList<DoubleVector> buildNACAProfile( String digits, ChordwiseDistribution distribution ) {
             
-            // calculate coords
-            double[] coord = new double[2];
-            if (surface.equalsIgnoreCase("upper")) {
-                coord[0] = x  - yt*Math.sin(theta);
-                coord[1] = yc + yt*Math.cos(theta);
-            } else {
-                coord[0] = x  + yt*Math.sin(theta);
-                coord[1] = yc - yt*Math.cos(theta);
+            // parsed and generated once per designation, then served from the cache
+            AirfoilProfile profile = AirfoilCache.getDefault().getProfile(digits, distribution);
+            double[] x = profile.getX();
+            double[] y = profile.getY();
+            
+            // upper: back to front, lower: front to back
+            ArrayList<DoubleVector> all_coords = new ArrayList<>(x.length);
+            for (int i=0; i<x.length; ++i) {
+                all_coords.add( new DoubleVector(new double[] {x[i], y[i]}) );
             }
             
+            return all_coords;
+        }
+        //</editor-fold>
+        
+        // <editor-fold defaultstate="collapsed" desc="public double[] NACA4_coord( String digits, double x, String surface )">
+        public double[] NACA4_coord( String digits, double x, String surface ) {
+            double[] coord = new double[2];
+            AirfoilCache.getDefault().getSpec(digits).point(x, surface.equalsIgnoreCase("upper"), coord);
             return coord;
         }
         // </editor-fold>
         
         // <editor-fold defaultstate="collapsed" desc="public double[] NACA5_coord( String digits, double x, String surface )">
         public double[] NACA5_coord( String digits, double x, String surface ) {
-
-            // get coefficients from NACA string
-            // see naca-report-537.pdf
-            // order {210,220,230,240,250,211,221,231,241,251}; 211 does not exist but added for indexing ease
-            double[] m_all = new double[] {0.0580, 0.1260, 0.2025, 0.2900, 0.3910, 0.0, 0.130, 0.217, 0.318, 0.441};
-            double[] k1_all = new double[] {361.40, 51.640, 15.957, 6.643, 3.230, 0.0, 51.990, 15.793, 6.520, 3.191};
-            double[] k2k1_all = new double[] {0.0, 0.000764, 0.00677, 0.0303, 0.1355};
-            
-            int camber_index = Character.getNumericValue(digits.charAt(1));
-            int reflex_index = Character.getNumericValue(digits.charAt(2));
-            
-            double m  =  m_all[camber_index-1 + reflex_index*5];
-            double k1 = k1_all[camber_index-1 + reflex_index*5];
-            double k2k1 = k2k1_all[camber_index-1];
-            double p = ( (double) Character.getNumericValue(digits.charAt(1)))*0.05;
-            double t = Double.parseDouble(digits.substring(3))/100.0;
-            
-            // get yt
-            double yt = 5.0*t*(0.2969*Math.sqrt(x)-0.1260*x-0.3516*x*x+0.2843*x*x*x-0.1015*x*x*x*x);
-            
-            // get mean camber line
-            double yc;
-            if (reflex_index == 0) {
-                if (x < p) {
-                    yc = (k1/6.0)*( x*x*x - 3.0*m*x*x + m*m*x*(3.0-m) );
-                } else {
-                    yc = (k1/6.0)*m*m*m*(1.0-x);
-                }
-            } else {
-                if (x < p) {
-                    yc = (k1/6.0)*(      Math.pow(x-m,3.0) - k2k1*Math.pow(1.0-m,3.0)*x + m*m*m*(1.0-x) );
-                } else {
-                    yc = (k1/6.0)*( k2k1*Math.pow(x-m,3.0) - k2k1*Math.pow(1.0-m,3.0)*x + m*m*m*(1.0-x) );
-                }
-            }
-            
-            
-            // get dyc/dx
-            double dyc_dx;
-            if (reflex_index == 0) {
-                if (x < p) {
-                    dyc_dx = (k1/6.0)*( 3.0*x*x - 6.0*m*x + m*m*(3.0-m) );
-                } else {
-                    dyc_dx = (k1/6.0)*m*m*m*(-1.0);
-                }
-            } else {
-                if (x < p) {
-                    dyc_dx = (k1/6.0)*(      3.0*Math.pow(x-m,2.0) - k2k1*Math.pow(1.0-m,3.0) + m*m*m*(-1.0) );
-                } else {
-                    dyc_dx = (k1/6.0)*( k2k1*3.0*Math.pow(x-m,2.0) - k2k1*Math.pow(1.0-m,3.0) + m*m*m*(-1.0) );
-                }
-            }
-            double theta = Math.atan(dyc_dx);
-            
-            // calculate coords
             double[] coord = new double[2];
-            if (surface.equalsIgnoreCase("upper")) {
-                coord[0] = x  - yt*Math.sin(theta);
-                coord[1] = yc + yt*Math.cos(theta);
-            } else {
-                coord[0] = x  + yt*Math.sin(theta);
-                coord[1] = yc - yt*Math.cos(theta);
-            }
-            
+            AirfoilCache.getDefault().getSpec(digits).point(x, surface.equalsIgnoreCase("upper"), coord);
             return coord;
         }
         // </editor-fold>
@@ -291,43 +269,33 @@ public class Task01A_CAD extends Task {
         // <editor-fold defaultstate="collapsed" desc="public Sketch createSketch_NACA_blunt( ArrayList<DoubleVector> allPoints, String cadName )">
         public Sketch createSketch_NACA_blunt( ArrayList<DoubleVector> allPoints, String cadName ) {
             
-            // preliminaries
-            DoubleVector TE_upper = allPoints.get(0);
-            DoubleVector TE_lower = allPoints.get( allPoints.size()-1 );
-            
-            // get sim and 3D-CAD
-            Simulation sim = getActiveSimulation();
-            CadModel cadModel_0 = ((CadModel) sim.get(SolidModelManager.class).getObject(cadName));
-
-            CanonicalSketchPlane canonicalSketchPlane_0 = ((CanonicalSketchPlane) cadModel_0.getFeature("XY"));
-            Sketch sketch_3 = cadModel_0.getFeatureManager().createSketch(canonicalSketchPlane_0);
-
-            // start sketching
-            cadModel_0.getFeatureManager().startSketchEdit(sketch_3);
-
-            // build points for blunt TE
-            PointSketchPrimitive TE_upper_point = sketch_3.createPoint(TE_upper);
-            PointSketchPrimitive TE_lower_point = sketch_3.createPoint(TE_lower);
-
-            // connect with line
-            LineSketchPrimitive lineSketchPrimitive_1 = sketch_3.createLine(TE_upper_point, TE_lower_point);
-            sketch_3.createVerticalConstraint(lineSketchPrimitive_1);
-
-            // build spline
-            DoubleVector airfoilSpline = allPoints.get(0);
-            for (int i=1; i<allPoints.size(); ++i) {
-                airfoilSpline.addAll( allPoints.get(i) );
+            // flatten into one pre-sized array (input list is left untouched)
+            int nPoints = allPoints.size();
+            double[] xy = new double[2*nPoints];
+            for (int i=0; i<nPoints; ++i) {
+                DoubleVector point = allPoints.get(i);
+                xy[2*i] = point.get(0);
+                xy[2*i+1] = point.get(1);
             }
-            sketch_3.createSpline(true, TE_upper_point, true, TE_lower_point, airfoilSpline );
-
-            // finalize
-            sketch_3.markFeatureForEdit();
-            cadModel_0.getFeatureManager().stopSketchEdit(sketch_3, true);
-            sketch_3.setIsUptoDate(true);
-            cadModel_0.getFeatureManager().rollForwardToEnd();
             
-            return sketch_3;
-
+            return getFacade().sketch(cadName, null, Collections.singletonList(new SimulationFacade.Section(xy, true)));
+        }
+        // </editor-fold>
+        
+        // <editor-fold defaultstate="collapsed" desc="public Sketch createSketch_NACA_blunt( AirfoilProfile profile, String cadName )">
+        public Sketch createSketch_NACA_blunt( AirfoilProfile profile, String cadName ) {
+            return getFacade().sketch(cadName, null, Collections.singletonList(CadWorkflow.toSection(profile)));
+        }
+        // </editor-fold>
+        
+        // <editor-fold defaultstate="collapsed" desc="public Sketch createSketch_NACA_batch( List<AirfoilSection> sections, String cadName )">
+        /**
+         * Places several airfoil sections (offset, scaled and rotated) in a
+         * single sketch, using one sketch edit and a single roll forward of the
+         * 3D-CAD feature tree.
+         */
+        public Sketch createSketch_NACA_batch( List<AirfoilSection> sections, String cadName ) {
+            return getFacade().sketch(cadName, null, CadWorkflow.toSections(sections));
         }
         // </editor-fold>
 
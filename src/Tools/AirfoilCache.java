@@ -0,0 +1,81 @@
+package Tools;
+
+/**
+ * Bounded LRU caches of parsed airfoil specifications and of their generated
+ * coordinates, keyed by designation and chordwise distribution. A single
+ * default instance is shared by all tasks in the JVM, so repeated requests for
+ * the same designation across tasks, sweeps and simulation sessions skip
+ * parsing and evaluation.
+ */
+public final class AirfoilCache {
+
+    private static final int DEFAULT_SPEC_CAPACITY = 1024;
+    private static final int DEFAULT_PROFILE_CAPACITY = 256;
+
+    private static final AirfoilCache DEFAULT = new AirfoilCache(DEFAULT_SPEC_CAPACITY, DEFAULT_PROFILE_CAPACITY);
+
+    private final LruCache<String, AirfoilSpec> _specs;
+    private final LruCache<String, AirfoilProfile> _profiles;
+
+    /**
+     * @param specCapacity - Maximum number of parsed specifications kept
+     * @param profileCapacity - Maximum number of coordinate sets kept
+     */
+    public AirfoilCache(int specCapacity, int profileCapacity) {
+        _specs = new LruCache<>(specCapacity);
+        _profiles = new LruCache<>(profileCapacity);
+    }
+
+    /**
+     * @return The JVM-wide shared cache
+     */
+    public static AirfoilCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * @param designation - 4 or 5 digit NACA designation
+     * @return The parsed specification
+     * @throws IllegalArgumentException if the designation cannot be parsed
+     */
+    public AirfoilSpec getSpec(String designation) {
+        AirfoilSpec spec = _specs.get(designation);
+        if (spec == null) {
+            spec = _specs.putIfAbsent(designation, AirfoilSpec.parse(designation));
+        }
+        return spec;
+    }
+
+    /**
+     * Returns the profile generated on the default chordwise stations.
+     *
+     * @param designation - 4 or 5 digit NACA designation
+     * @return The shared (read-only) profile
+     */
+    public AirfoilProfile getProfile(String designation) {
+        return getProfile(designation, ChordwiseDistribution.getDefault());
+    }
+
+    /**
+     * Returns the profile generated on the given chordwise distribution.
+     *
+     * @param designation - 4 or 5 digit NACA designation
+     * @param distribution - chordwise station distribution
+     * @return The shared (read-only) profile
+     */
+    public AirfoilProfile getProfile(String designation, ChordwiseDistribution distribution) {
+        String key = designation + '|' + distribution.getKey();
+        AirfoilProfile profile = _profiles.get(key);
+        if (profile == null) {
+            AirfoilSpec spec = getSpec(designation);
+            profile = AirfoilProfile.generate(spec, distribution.stations(spec));
+            profile = _profiles.putIfAbsent(key, profile);
+        }
+        return profile;
+    }
+
+    public void clear() {
+        _specs.clear();
+        _profiles.clear();
+    }
+}
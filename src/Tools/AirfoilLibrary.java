@@ -0,0 +1,503 @@
+package Tools;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary store of airfoil coordinate sets, memory-mapped through NIO.
+ * Opening a library only reads the name index at the end of the file, so even
+ * libraries with many thousands of sections open almost instantly;
+ * coordinates are read straight from the mapping.
+ *
+ * File layout (big-endian):
+ *   header  - magic, version, section count, index offset (32 bytes)
+ *   records - per section: point count (padded to 8 bytes), x[n], y[n]
+ *   index   - per section: name (UTF-8, short length), record offset, point count
+ *
+ * Profiles added to the library (directly or as a ProfileSink of a sweep) are
+ * buffered and appended in one write by flush(). New records and the new
+ * index go after the end of the current index and are forced to disk before
+ * the header is switched to them, so an interrupted flush leaves the previous
+ * library intact. Re-adding a name replaces the section; replaced records
+ * and old indexes are dead bytes until compact() moves the live records to
+ * the front of the file, which flush() does once they make up more than
+ * half of it.
+ *
+ * The file is never shortened while it is mapped (Windows refuses to, and
+ * elsewhere old views would fault); bytes left behind the index by a
+ * compaction are overwritten by the next flush and cut off on open().
+ */
+public class AirfoilLibrary implements ProfileSink, Closeable {
+
+    private static final int MAGIC = 0x41464C42; // "AFLB"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    // dead bytes tolerated before flush() compacts
+    private static final long MIN_COMPACT_BYTES = 1L << 16;
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private final File _file;
+    private final Map<String, long[]> _index = new LinkedHashMap<>();
+    private final Map<String, AirfoilProfile> _pending = new LinkedHashMap<>();
+    private final RandomAccessFile _raf;
+    private final FileChannel _channel;
+    private MappedByteBuffer _map;
+    private long _indexOffset;
+    private long _end;
+    private long _liveBytes;
+
+    private AirfoilLibrary(File file) throws IOException {
+        _file = file;
+        _raf = new RandomAccessFile(file, "rw");
+        _channel = _raf.getChannel();
+    }
+
+    /**
+     * Opens a library file, creating an empty library if it does not exist.
+     *
+     * @param file - library file
+     * @return The opened library
+     */
+    public static AirfoilLibrary open(File file) throws IOException {
+        AirfoilLibrary lib = new AirfoilLibrary(file);
+        try {
+            if (lib._channel.size() == 0) {
+                writeIndexAndHeader(lib._channel, lib._index, HEADER_SIZE);
+            } else {
+                lib.trimTail();
+            }
+            lib.load();
+        } catch (IOException ex) {
+            lib._raf.close();
+            throw ex;
+        }
+        return lib;
+    }
+
+    public File getFile() {
+        return _file;
+    }
+
+    public synchronized int size() {
+        int n = _index.size();
+        for (String name : _pending.keySet()) {
+            if (!_index.containsKey(name)) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    public synchronized boolean contains(String name) {
+        return _pending.containsKey(name) || _index.containsKey(name);
+    }
+
+    /**
+     * @return Section names in insertion order
+     */
+    public synchronized List<String> getNames() {
+        List<String> names = new ArrayList<>(_index.keySet());
+        for (String name : _pending.keySet()) {
+            if (!_index.containsKey(name)) {
+                names.add(name);
+            }
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * @param name - section name
+     * @return Number of points of the section, or -1 if it is not stored
+     */
+    public synchronized int getPointCount(String name) {
+        AirfoilProfile pending = _pending.get(name);
+        if (pending != null) {
+            return pending.getPointCount();
+        }
+        long[] entry = _index.get(name);
+        return entry == null ? -1 : (int) entry[1];
+    }
+
+    /**
+     * Zero-copy read-only view of the stored x-coordinates. Only valid for
+     * flushed sections and until the next flush().
+     *
+     * @param name - section name
+     * @return x-coordinates or null if the section is not stored
+     */
+    public synchronized DoubleBuffer getXBuffer(String name) {
+        return view(name, 0);
+    }
+
+    /**
+     * Zero-copy read-only view of the stored y-coordinates. Only valid for
+     * flushed sections and until the next flush().
+     *
+     * @param name - section name
+     * @return y-coordinates or null if the section is not stored
+     */
+    public synchronized DoubleBuffer getYBuffer(String name) {
+        return view(name, 1);
+    }
+
+    /**
+     * Copies a section into caller-supplied buffers.
+     *
+     * @param name - section name
+     * @param x - output x-coordinates, at least getPointCount(name) long
+     * @param y - output y-coordinates, at least getPointCount(name) long
+     * @return Number of points copied, or -1 if the section is not stored
+     */
+    public synchronized int read(String name, double[] x, double[] y) {
+        AirfoilProfile pending = _pending.get(name);
+        if (pending != null) {
+            int n = pending.getPointCount();
+            System.arraycopy(pending.getX(), 0, x, 0, n);
+            System.arraycopy(pending.getY(), 0, y, 0, n);
+            return n;
+        }
+        DoubleBuffer xb = view(name, 0);
+        if (xb == null) {
+            return -1;
+        }
+        int n = xb.remaining();
+        xb.get(x, 0, n);
+        view(name, 1).get(y, 0, n);
+        return n;
+    }
+
+    /**
+     * @param name - section name
+     * @return A copy of the stored section or null if it is not stored
+     */
+    public synchronized AirfoilProfile getProfile(String name) {
+        AirfoilProfile pending = _pending.get(name);
+        if (pending != null) {
+            return pending;
+        }
+        int n = getPointCount(name);
+        if (n < 0) {
+            return null;
+        }
+        double[] x = new double[n];
+        double[] y = new double[n];
+        read(name, x, y);
+        return new AirfoilProfile(name, x, y);
+    }
+
+    /**
+     * Queues a profile for storage; it becomes part of the file on flush().
+     */
+    public synchronized void add(AirfoilProfile profile) {
+        _pending.put(profile.getName(), profile);
+    }
+
+    public synchronized void addAll(Collection<AirfoilProfile> profiles) {
+        for (AirfoilProfile profile : profiles) {
+            _pending.put(profile.getName(), profile);
+        }
+    }
+
+    @Override
+    public void accept(AirfoilProfile profile) {
+        add(profile);
+    }
+
+    /**
+     * Imports a Selig format .dat file.
+     *
+     * @return The imported profile
+     */
+    public AirfoilProfile importSelig(File datFile) throws IOException {
+        AirfoilProfile profile = SeligFormat.read(datFile);
+        add(profile);
+        return profile;
+    }
+
+    /**
+     * Exports a stored section to a Selig format .dat file.
+     *
+     * @return false if the section is not stored
+     */
+    public boolean exportSelig(String name, File datFile) throws IOException {
+        AirfoilProfile profile = getProfile(name);
+        if (profile == null) {
+            return false;
+        }
+        SeligFormat.write(profile, datFile);
+        return true;
+    }
+
+    /**
+     * Appends all queued profiles and a new index in one write each, then
+     * points the header at them and re-maps the file. Compacts the file
+     * when dead bytes make up more than half of it.
+     *
+     * @throws IOException if writing fails; if only the compaction failed,
+     * the profiles are saved and the message says so
+     */
+    public synchronized void flush() throws IOException {
+        if (_pending.isEmpty()) {
+            return;
+        }
+        appendPending();
+        long dead = getDeadBytes();
+        if (dead > MIN_COMPACT_BYTES && dead > _end / 2) {
+            try {
+                compact();
+            } catch (IOException ex) {
+                throw new IOException("Profiles saved, but compacting " + _file + " failed: " + ex.getMessage(), ex);
+            }
+        }
+    }
+
+    /**
+     * @return Bytes of replaced records and old indexes in the file
+     */
+    public synchronized long getDeadBytes() {
+        return _indexOffset - HEADER_SIZE - _liveBytes;
+    }
+
+    /**
+     * Flushes queued profiles and moves the live records to the front of the
+     * file, in two steps that each end with a header switch: the records are
+     * first copied behind the current index, then from there to the front,
+     * which no longer holds referenced data. Views returned before are
+     * invalid afterwards.
+     */
+    public synchronized void compact() throws IOException {
+        if (!_pending.isEmpty()) {
+            appendPending();
+        }
+        if (getDeadBytes() == 0) {
+            return;
+        }
+        try {
+            // copy the live records behind the index and switch to them
+            long from = _end;
+            long pos = from;
+            Map<String, long[]> moved = new LinkedHashMap<>();
+            for (Map.Entry<String, long[]> entry : _index.entrySet()) {
+                long[] old = entry.getValue();
+                ByteBuffer record = _map.duplicate();
+                record.limit((int) (old[0] + 8 + 16 * old[1]));
+                record.position((int) old[0]);
+                moved.put(entry.getKey(), new long[]{pos, old[1]});
+                while (record.hasRemaining()) {
+                    pos += _channel.write(record, pos);
+                }
+            }
+            long live = pos - from;
+            writeIndexAndHeader(_channel, moved, pos);
+
+            // copy them to the front, which ends before the copy starts
+            Map<String, long[]> index = new LinkedHashMap<>();
+            for (Map.Entry<String, long[]> entry : moved.entrySet()) {
+                long[] old = entry.getValue();
+                index.put(entry.getKey(), new long[]{old[0] - from + HEADER_SIZE, old[1]});
+            }
+            copy(from, HEADER_SIZE, live);
+            writeIndexAndHeader(_channel, index, HEADER_SIZE + live);
+        } finally {
+            load();
+        }
+    }
+
+    /**
+     * Flushes queued profiles and closes the file.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            _map = null;
+            _raf.close();
+        }
+    }
+
+    // ===============================================
+    // helper routines
+    // ===============================================
+
+    /**
+     * Writes the queued profiles and a new index after the end of the file,
+     * then switches the header to them and re-maps the file.
+     */
+    private void appendPending() throws IOException {
+        long bytes = 0;
+        for (AirfoilProfile profile : _pending.values()) {
+            bytes += 8 + 16L * profile.getPointCount();
+        }
+        ByteBuffer buf = ByteBuffer.allocate((int) bytes);
+        Map<String, long[]> index = new LinkedHashMap<>(_index);
+        long start = _end;
+        long offset = start;
+        for (AirfoilProfile profile : _pending.values()) {
+            int n = profile.getPointCount();
+            index.remove(profile.getName());
+            index.put(profile.getName(), new long[]{offset, n});
+            buf.putInt(n).putInt(0);
+            buf.asDoubleBuffer().put(profile.getX()).put(profile.getY());
+            buf.position(buf.position() + 16 * n);
+            offset += 8 + 16L * n;
+        }
+        buf.flip();
+        long pos = start;
+        while (buf.hasRemaining()) {
+            pos += _channel.write(buf, pos);
+        }
+        writeIndexAndHeader(_channel, index, offset);
+        _pending.clear();
+        load();
+    }
+
+    // copies within the file; the ranges must not overlap
+    private void copy(long from, long to, long bytes) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate((int) Math.min(bytes, 1 << 16));
+        long done = 0;
+        while (done < bytes) {
+            buf.clear();
+            buf.limit((int) Math.min(buf.capacity(), bytes - done));
+            if (!readFully(buf, from + done)) {
+                throw new IOException("Unexpected end of " + _file);
+            }
+            buf.flip();
+            while (buf.hasRemaining()) {
+                _channel.write(buf, to + done + buf.position());
+            }
+            done += buf.limit();
+        }
+    }
+
+    // reads until buf is full, false at the end of the file
+    private boolean readFully(ByteBuffer buf, long pos) throws IOException {
+        int start = buf.position();
+        while (buf.hasRemaining()) {
+            if (_channel.read(buf, pos + buf.position() - start) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // cuts off bytes behind the index, left by a compaction; runs before the file is mapped
+    private void trimTail() throws IOException {
+        long size = _channel.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (!readFully(header, 0) || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            return; // load() reports it
+        }
+        int count = header.getInt(8);
+        long indexOffset = header.getLong(16);
+        if (indexOffset < HEADER_SIZE || indexOffset > size) {
+            return;
+        }
+        ByteBuffer index = ByteBuffer.allocate((int) (size - indexOffset));
+        readFully(index, indexOffset);
+        index.flip();
+        for (int i = 0; i < count; ++i) {
+            if (index.remaining() < 2) {
+                return;
+            }
+            int skip = (index.getShort() & 0xFFFF) + 12;
+            if (index.remaining() < skip) {
+                return;
+            }
+            index.position(index.position() + skip);
+        }
+        if (indexOffset + index.position() < size) {
+            _channel.truncate(indexOffset + index.position());
+        }
+    }
+
+    private DoubleBuffer view(String name, int component) {
+        long[] entry = _index.get(name);
+        if (entry == null || _pending.containsKey(name)) {
+            return null;
+        }
+        int n = (int) entry[1];
+        ByteBuffer b = _map.duplicate();
+        b.position((int) entry[0] + 8 + component * 8 * n);
+        b.limit(b.position() + 8 * n);
+        return b.slice().asDoubleBuffer().asReadOnlyBuffer();
+    }
+
+    /**
+     * Writes the index at indexOffset and forces it and all records to disk
+     * before the header points to it, so the header never references data
+     * that is not there.
+     */
+    private static void writeIndexAndHeader(FileChannel channel, Map<String, long[]> index, long indexOffset)
+            throws IOException {
+        List<byte[]> names = new ArrayList<>(index.size());
+        int bytes = 0;
+        for (String name : index.keySet()) {
+            byte[] utf = name.getBytes(UTF8);
+            names.add(utf);
+            bytes += 2 + utf.length + 12;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(bytes);
+        int i = 0;
+        for (long[] entry : index.values()) {
+            byte[] utf = names.get(i++);
+            buf.putShort((short) utf.length).put(utf).putLong(entry[0]).putInt((int) entry[1]);
+        }
+        buf.flip();
+        long pos = indexOffset;
+        while (buf.hasRemaining()) {
+            pos += channel.write(buf, pos);
+        }
+        channel.force(false);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(index.size()).putInt(0).putLong(indexOffset);
+        header.rewind();
+        channel.write(header, 0);
+        channel.force(false);
+    }
+
+    private void load() throws IOException {
+        long size = _channel.size();
+        if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+            throw new IOException("Not an airfoil library: " + _file);
+        }
+        _map = _channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        if (_map.getInt(0) != MAGIC || _map.getInt(4) != VERSION) {
+            throw new IOException("Not an airfoil library: " + _file);
+        }
+        int count = _map.getInt(8);
+        _indexOffset = _map.getLong(16);
+
+        ByteBuffer b = _map.duplicate();
+        b.position((int) _indexOffset);
+        byte[] utf = new byte[256];
+        _index.clear();
+        _liveBytes = 0;
+        for (int i = 0; i < count; ++i) {
+            int len = b.getShort() & 0xFFFF;
+            if (len > utf.length) {
+                utf = new byte[len];
+            }
+            b.get(utf, 0, len);
+            String name = new String(utf, 0, len, UTF8);
+            long[] entry = {b.getLong(), b.getInt()};
+            _index.put(name, entry);
+            _liveBytes += 8 + 16 * entry[1];
+        }
+        _end = b.position();
+    }
+}
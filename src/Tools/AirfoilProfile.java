@@ -0,0 +1,88 @@
+package Tools;
+
+/**
+ * Generated or imported airfoil coordinates, stored as primitive x/y arrays in
+ * the order used by the 3D-CAD sketch (upper surface TE to LE, then lower
+ * surface LE to TE).
+ *
+ * Profiles are shared through AirfoilCache, so the arrays returned by getX()
+ * and getY() must be treated as read-only. Generated profiles also carry their
+ * geometric properties, computed in the same pass as the coordinates.
+ */
+public final class AirfoilProfile {
+
+    private final String _name;
+    private final double[] _x;
+    private final double[] _y;
+    private final AirfoilProperties _properties;
+
+    /**
+     * @param name - profile name, e.g. the NACA designation
+     * @param x - x-coordinates (not copied)
+     * @param y - y-coordinates (not copied)
+     */
+    public AirfoilProfile(String name, double[] x, double[] y) {
+        this(name, x, y, null);
+    }
+
+    private AirfoilProfile(String name, double[] x, double[] y, AirfoilProperties properties) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Coordinate arrays differ in length");
+        }
+        _name = name;
+        _x = x;
+        _y = y;
+        _properties = properties;
+    }
+
+    /**
+     * Generates a profile from a parsed specification.
+     *
+     * @param spec - parsed NACA specification
+     * @param stations - chordwise stations, ascending from 0 to 1
+     * @return The generated profile
+     */
+    public static AirfoilProfile generate(AirfoilSpec spec, double[] stations) {
+        int n = NacaProfileEngine.getPointCount(stations.length);
+        double[] x = new double[n];
+        double[] y = new double[n];
+        AirfoilProperties properties = NacaProfileEngine.fillProfileWithProperties(spec, stations, x, y,
+                new double[n], new double[n]);
+        return new AirfoilProfile(spec.getDesignation(), x, y, properties);
+    }
+
+    public String getName() {
+        return _name;
+    }
+
+    public int getPointCount() {
+        return _x.length;
+    }
+
+    public double[] getX() {
+        return _x;
+    }
+
+    public double[] getY() {
+        return _y;
+    }
+
+    /**
+     * @return Geometric properties, or null for imported profiles
+     */
+    public AirfoilProperties getProperties() {
+        return _properties;
+    }
+
+    /**
+     * Copies the coordinates into an interleaved {x0, y0, x1, y1, ...} array.
+     *
+     * @param xy - output array, at least 2*getPointCount() long
+     */
+    public void copyInterleaved(double[] xy) {
+        for (int i = 0; i < _x.length; ++i) {
+            xy[2 * i] = _x[i];
+            xy[2 * i + 1] = _y[i];
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package Tools;
+
+/**
+ * Geometric properties of a generated airfoil profile, computed by
+ * NacaProfileEngine in the same pass that generates the coordinates. All
+ * lengths are fractions of the chord.
+ *
+ * Area, centroid and perimeter are those of the closed point polygon; the
+ * perimeter is the wetted length of both surfaces without the blunt
+ * trailing-edge base. Slope (dy/dx) and curvature are analytic at every
+ * profile point; curvature is signed along the point order (upper TE to LE
+ * to lower TE), so convex parts of the surface are positive. The leading edge
+ * point has an infinite slope and a curvature of 1/leadingEdgeRadius.
+ */
+public final class AirfoilProperties {
+
+    private final double _area;
+    private final double _centroidX;
+    private final double _centroidY;
+    private final double _perimeter;
+    private final double _maxThickness;
+    private final double _maxThicknessX;
+    private final double _maxCamber;
+    private final double _maxCamberX;
+    private final double _leadingEdgeRadius;
+    private final double[] _slope;
+    private final double[] _curvature;
+
+    AirfoilProperties(double area, double centroidX, double centroidY, double perimeter,
+            double maxThickness, double maxThicknessX, double maxCamber, double maxCamberX,
+            double leadingEdgeRadius, double[] slope, double[] curvature) {
+        _area = area;
+        _centroidX = centroidX;
+        _centroidY = centroidY;
+        _perimeter = perimeter;
+        _maxThickness = maxThickness;
+        _maxThicknessX = maxThicknessX;
+        _maxCamber = maxCamber;
+        _maxCamberX = maxCamberX;
+        _leadingEdgeRadius = leadingEdgeRadius;
+        _slope = slope;
+        _curvature = curvature;
+    }
+
+    public double getArea() {
+        return _area;
+    }
+
+    public double getCentroidX() {
+        return _centroidX;
+    }
+
+    public double getCentroidY() {
+        return _centroidY;
+    }
+
+    public double getPerimeter() {
+        return _perimeter;
+    }
+
+    public double getMaxThickness() {
+        return _maxThickness;
+    }
+
+    public double getMaxThicknessX() {
+        return _maxThicknessX;
+    }
+
+    public double getMaxCamber() {
+        return _maxCamber;
+    }
+
+    public double getMaxCamberX() {
+        return _maxCamberX;
+    }
+
+    public double getLeadingEdgeRadius() {
+        return _leadingEdgeRadius;
+    }
+
+    /**
+     * @return Surface slope dy/dx at every profile point (read-only)
+     */
+    public double[] getSlope() {
+        return _slope;
+    }
+
+    /**
+     * @return Signed surface curvature at every profile point (read-only)
+     */
+    public double[] getCurvature() {
+        return _curvature;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("area=%.6f, t_max=%.5f @ x=%.4f, camber_max=%.5f @ x=%.4f, r_LE=%.6f, "
+                + "centroid=(%.5f, %.5f), perimeter=%.6f",
+                _area, _maxThickness, _maxThicknessX, _maxCamber, _maxCamberX, _leadingEdgeRadius,
+                _centroidX, _centroidY, _perimeter);
+    }
+}
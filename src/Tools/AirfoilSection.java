@@ -0,0 +1,76 @@
+package Tools;
+
+/**
+ * An airfoil profile placed in the sketch plane: scaled by the chord length,
+ * rotated about its leading edge (positive incidence is nose up) and then
+ * moved by an offset. Used to place several sections in one sketch, e.g. the
+ * elements of a multi-element configuration.
+ */
+public final class AirfoilSection {
+
+    private final AirfoilProfile _profile;
+    private final double _offsetX;
+    private final double _offsetY;
+    private final double _chord;
+    private final double _incidence;
+
+    /**
+     * @param profile - unit chord profile
+     * @param offsetX - x-position of the leading edge
+     * @param offsetY - y-position of the leading edge
+     * @param chord - chord length (scale)
+     * @param incidence - rotation about the leading edge in degrees, nose up
+     */
+    public AirfoilSection(AirfoilProfile profile, double offsetX, double offsetY, double chord, double incidence) {
+        _profile = profile;
+        _offsetX = offsetX;
+        _offsetY = offsetY;
+        _chord = chord;
+        _incidence = incidence;
+    }
+
+    /**
+     * @param profile - unit chord profile, placed without transformation
+     */
+    public AirfoilSection(AirfoilProfile profile) {
+        this(profile, 0.0, 0.0, 1.0, 0.0);
+    }
+
+    public AirfoilProfile getProfile() {
+        return _profile;
+    }
+
+    public double getIncidence() {
+        return _incidence;
+    }
+
+    public int getPointCount() {
+        return _profile.getPointCount();
+    }
+
+    /**
+     * Writes the transformed coordinates as {x0, y0, x1, y1, ...}.
+     *
+     * @param xy - output array, at least 2*getPointCount() long
+     */
+    public void placeInterleaved(double[] xy) {
+        double[] x = _profile.getX();
+        double[] y = _profile.getY();
+        double rad = Math.toRadians(_incidence);
+        double c = _chord * Math.cos(rad);
+        double s = _chord * Math.sin(rad);
+        for (int i = 0; i < x.length; ++i) {
+            xy[2 * i] = _offsetX + c * x[i] + s * y[i];
+            xy[2 * i + 1] = _offsetY - s * x[i] + c * y[i];
+        }
+    }
+
+    /**
+     * @return Transformed coordinates in a single pre-sized array
+     */
+    public double[] placeInterleaved() {
+        double[] xy = new double[2 * getPointCount()];
+        placeInterleaved(xy);
+        return xy;
+    }
+}
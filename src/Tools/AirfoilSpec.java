@@ -0,0 +1,147 @@
+package Tools;
+
+import java.util.Locale;
+
+/**
+ * Parse-once specification of a NACA 4- or 5-series airfoil. The designation
+ * is resolved into the camber, camber position, thickness and (for 5-series)
+ * the k1 and k2/k1 camber line constants, so profile evaluation never has to
+ * touch the digit string again.
+ *
+ * Instances are immutable and can be shared between threads; use
+ * AirfoilCache to avoid re-parsing the same designation.
+ */
+public final class AirfoilSpec {
+
+    // see naca-report-537.pdf
+    // order {210,220,230,240,250,211,221,231,241,251}; 211 does not exist but added for indexing ease
+    private static final double[] NACA5_M = {0.0580, 0.1260, 0.2025, 0.2900, 0.3910, 0.0, 0.130, 0.217, 0.318, 0.441};
+    private static final double[] NACA5_K1 = {361.40, 51.640, 15.957, 6.643, 3.230, 0.0, 51.990, 15.793, 6.520, 3.191};
+    private static final double[] NACA5_K2K1 = {0.0, 0.000764, 0.00677, 0.0303, 0.1355};
+
+    private final String _designation;
+    private final boolean _fiveDigit;
+    private final boolean _reflexed;
+    private final double _m;
+    private final double _p;
+    private final double _t;
+    private final double _k1;
+    private final double _k2k1;
+
+    private AirfoilSpec(String designation, boolean fiveDigit, boolean reflexed,
+            double m, double p, double t, double k1, double k2k1) {
+        _designation = designation;
+        _fiveDigit = fiveDigit;
+        _reflexed = reflexed;
+        _m = m;
+        _p = p;
+        _t = t;
+        _k1 = k1;
+        _k2k1 = k2k1;
+    }
+
+    /**
+     * Parses a NACA designation.
+     *
+     * @param digits - 4 or 5 digit NACA designation
+     * @return The resolved specification
+     * @throws IllegalArgumentException if the designation fails NacaValidator
+     */
+    public static AirfoilSpec parse(String digits) {
+        NacaValidator.Reason reason = NacaValidator.check(digits);
+        if (reason != NacaValidator.Reason.VALID) {
+            throw new IllegalArgumentException("Invalid NACA designation: " + digits + " (" + reason.getDescription() + ")");
+        }
+
+        if (digits.length() == 5) {
+            int camber_index = digits.charAt(1) - '0';
+            int reflex_index = digits.charAt(2) - '0';
+            int idx = camber_index - 1 + reflex_index * 5;
+            double t = ((digits.charAt(3) - '0') * 10 + (digits.charAt(4) - '0')) / 100.0;
+            return new AirfoilSpec(digits, true, reflex_index != 0,
+                    NACA5_M[idx], camber_index * 0.05, t, NACA5_K1[idx], NACA5_K2K1[camber_index - 1]);
+        }
+
+        double m = (digits.charAt(0) - '0') / 100.0;
+        double p = (digits.charAt(1) - '0') / 10.0;
+        double t = ((digits.charAt(2) - '0') * 10 + (digits.charAt(3) - '0')) / 100.0;
+        return new AirfoilSpec(digits, false, false, m, p, t, 0.0, 0.0);
+    }
+
+    /**
+     * The same section with another maximum thickness, e.g. interpolated
+     * between the root and tip designations of one family. The designation
+     * gives the thickness in percent of chord, with decimals where it is not
+     * a whole percentage (e.g. "2413.5"), and is a name only: it need not
+     * parse again.
+     *
+     * @param t - maximum thickness (fraction of chord)
+     * @return The specification
+     * @throws IllegalArgumentException if t is not between 0 and 1
+     */
+    public AirfoilSpec withThickness(double t) {
+        if (!(t > 0.0) || !(t < 1.0)) {
+            throw new IllegalArgumentException("Thickness must be between 0 and 1, got " + t);
+        }
+        String percent = String.format(Locale.ROOT, "%05.2f", 100.0 * t).replaceAll("\\.?0+$", "");
+        String designation = _designation.substring(0, _designation.length() - 2) + percent;
+        return new AirfoilSpec(designation, _fiveDigit, _reflexed, _m, _p, t, _k1, _k2k1);
+    }
+
+    /**
+     * Evaluates a single surface point.
+     *
+     * @param xs - chordwise station
+     * @param upper - true for the upper surface
+     * @param coord - output {x, y}
+     */
+    public void point(double xs, boolean upper, double[] coord) {
+        NacaProfileEngine.point(this, xs, upper, coord);
+    }
+
+    public String getDesignation() {
+        return _designation;
+    }
+
+    public boolean isFiveDigit() {
+        return _fiveDigit;
+    }
+
+    public boolean isReflexed() {
+        return _reflexed;
+    }
+
+    /**
+     * @return Maximum camber for 4-series, camber line parameter m for 5-series
+     */
+    public double getM() {
+        return _m;
+    }
+
+    /**
+     * @return Location of maximum camber (fraction of chord)
+     */
+    public double getP() {
+        return _p;
+    }
+
+    /**
+     * @return Maximum thickness (fraction of chord)
+     */
+    public double getT() {
+        return _t;
+    }
+
+    public double getK1() {
+        return _k1;
+    }
+
+    public double getK2K1() {
+        return _k2k1;
+    }
+
+    @Override
+    public String toString() {
+        return "NACA " + _designation;
+    }
+}
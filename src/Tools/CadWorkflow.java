@@ -0,0 +1,131 @@
+package Tools;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The 3D-CAD workflows of the assistant (farfield domain, airfoil sketches
+ * and wing lofts) against a SimulationFacade, so they run in a STAR-CCM+
+ * session and headless alike. Profiles come from AirfoilCache, so repeated
+ * designations are generated once.
+ */
+public class CadWorkflow {
+
+    /** 3D-CAD model of the farfield domain. */
+    public static final String DOMAIN_CAD_MODEL = "3D-CAD Model 1";
+
+    private final SimulationFacade _sim;
+
+    public CadWorkflow(SimulationFacade sim) {
+        _sim = sim;
+    }
+
+    /**
+     * Sketches the rectangular farfield, dimensioned by the design
+     * parameters L_up, L_down and HalfHeight, in DOMAIN_CAD_MODEL.
+     */
+    public void buildRectangularDomain() {
+        _sim.createRectangularDomain(DOMAIN_CAD_MODEL);
+    }
+
+    /**
+     * Resizes the farfield of DOMAIN_CAD_MODEL in one update with a single
+     * regeneration.
+     *
+     * @param upstream - L_up
+     * @param downstream - L_down
+     * @param halfHeight - HalfHeight
+     * @return Time of the update and regeneration in s
+     */
+    public double resizeDomain(double upstream, double downstream, double halfHeight) {
+        return sweepDomain(new double[][] {{upstream, downstream, halfHeight}}, null).getTotalSeconds();
+    }
+
+    /**
+     * Walks DOMAIN_CAD_MODEL through a list of farfield sizes.
+     *
+     * @see DomainSweep#run(SimulationFacade, String, double[][], DomainSweep.Listener)
+     */
+    public DomainSweep sweepDomain(double[][] sizes, DomainSweep.Listener listener) {
+        return DomainSweep.run(_sim, DOMAIN_CAD_MODEL, sizes, listener);
+    }
+
+    /**
+     * Sketches a NACA section on the XY-plane as "Sketch: NACA designation".
+     *
+     * @param designation - NACA designation
+     * @param distribution - chordwise point distribution
+     * @param cadName - 3D-CAD model name
+     * @return The sketched profile
+     * @throws IllegalArgumentException if the designation is invalid
+     */
+    public AirfoilProfile sketchNaca(String designation, ChordwiseDistribution distribution, String cadName) {
+        AirfoilProfile profile = AirfoilCache.getDefault().getProfile(designation, distribution);
+        _sim.println("  *** Using " + profile.getPointCount() + " spline points ***  ");
+        _sim.println("  *** Section properties: " + profile.getProperties() + " ***  ");
+        sketchProfile(profile, cadName, "Sketch: NACA " + designation);
+        return profile;
+    }
+
+    /**
+     * Sketches a profile on the XY-plane.
+     *
+     * @param sketchName - sketch name, null to keep the default
+     */
+    public void sketchProfile(AirfoilProfile profile, String cadName, String sketchName) {
+        _sim.createSketch(cadName, sketchName, Collections.singletonList(toSection(profile)));
+    }
+
+    /**
+     * Places several sections (offset, scaled and rotated) in a single sketch.
+     *
+     * @param sketchName - sketch name, null to keep the default
+     */
+    public void sketchSections(List<AirfoilSection> sections, String cadName, String sketchName) {
+        _sim.createSketch(cadName, sketchName, toSections(sections));
+    }
+
+    /**
+     * Sketches every wing station on a plane offset from XY by its span
+     * position ("Plane: wing station i", "Sketch: wing station i NACA xxxx")
+     * and lofts the sections (root to tip) into "Loft: wing".
+     */
+    public void loftWing(List<WingLoftGenerator.Station> stations, String cadName) {
+        int n = stations.size();
+        String[] planeNames = new String[n];
+        String[] sketchNames = new String[n];
+        double[] offsets = new double[n];
+        List<SimulationFacade.Section> sections = new ArrayList<>(n);
+        for (int i = 0; i < n; ++i) {
+            WingLoftGenerator.Station station = stations.get(i);
+            planeNames[i] = "Plane: wing station " + station.getIndex();
+            sketchNames[i] = "Sketch: wing station " + station.getIndex() + " NACA " + station.getDesignation();
+            offsets[i] = station.getSpanPosition();
+            sections.add(new SimulationFacade.Section(station.getPlacedCoordinates(),
+                    station.getSection().getIncidence() == 0.0));
+        }
+        _sim.createLoft(cadName, "Loft: wing", planeNames, sketchNames, offsets, sections);
+    }
+
+    /**
+     * @return The profile as an un-rotated sketch section
+     */
+    public static SimulationFacade.Section toSection(AirfoilProfile profile) {
+        double[] xy = new double[2 * profile.getPointCount()];
+        profile.copyInterleaved(xy);
+        return new SimulationFacade.Section(xy, true);
+    }
+
+    /**
+     * @return The placed sections as sketch sections, with a vertical
+     * trailing edge for the un-rotated ones
+     */
+    public static List<SimulationFacade.Section> toSections(List<AirfoilSection> sections) {
+        List<SimulationFacade.Section> placed = new ArrayList<>(sections.size());
+        for (AirfoilSection section : sections) {
+            placed.add(new SimulationFacade.Section(section.placeInterleaved(), section.getIncidence() == 0.0));
+        }
+        return placed;
+    }
+}
@@ -0,0 +1,259 @@
+package Tools;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.SwingWorker;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.JTextComponent;
+
+/**
+ * Runs the work of a calculator window off the Swing event dispatch thread
+ * (EDT), so long solves and table sweeps never freeze the STAR-CCM+ GUI.
+ *
+ * Each window owns one executor with a single daemon worker thread, so its
+ * jobs run one after the other and may share solver scratch state. Submitting
+ * a job cancels the one still pending or running: only the latest inputs are
+ * of interest. A Job computes on the worker thread and only touches Swing
+ * components in done(), failed() and progress(), which run on the EDT.
+ *
+ * Inputs should be read from the components on the EDT before submitting
+ * and handed to the job as plain values.
+ */
+public final class CalculatorExecutor {
+
+    /** Idle time after which the worker thread exits. */
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private final ThreadPoolExecutor _executor;
+    private Worker<?> _current; // accessed on the EDT only
+
+    /**
+     * Progress of a running job, as seen from the worker thread.
+     */
+    public interface Progress {
+
+        /**
+         * @return true once the job was cancelled or superseded; long
+         * computations should check this and return early
+         */
+        boolean isCancelled();
+
+        /**
+         * @param fraction - completed fraction of the job, 0 to 1
+         */
+        void setProgress(double fraction);
+    }
+
+    /**
+     * A unit of calculator work.
+     *
+     * @param <T> - type of the result
+     */
+    public static abstract class Job<T> {
+
+        /**
+         * Computes the result on the worker thread; must not touch Swing
+         * components.
+         */
+        protected abstract T compute(Progress progress) throws Exception;
+
+        /**
+         * Receives the result on the EDT; not called for cancelled jobs.
+         */
+        protected abstract void done(T result);
+
+        /**
+         * Receives the exception of a failed job on the EDT.
+         */
+        protected void failed(Throwable cause) {
+        }
+
+        /**
+         * Receives progress updates on the EDT, coalesced by Swing.
+         *
+         * @param percent - completed percentage, 0 to 100
+         */
+        protected void progress(int percent) {
+        }
+    }
+
+    /**
+     * @param name - prefix of the worker thread name
+     */
+    public CalculatorExecutor(final String name) {
+        ThreadFactory factory = new ThreadFactory() {
+            private final AtomicInteger _count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, name + "-worker-" + _count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+        _executor = new ThreadPoolExecutor(1, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), factory);
+        _executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queues a job, cancelling the previous one if it has not finished.
+     * Call on the EDT.
+     */
+    public <T> void submit(Job<T> job) {
+        cancel();
+        Worker<T> worker = new Worker<>(job);
+        _current = worker;
+        _executor.execute(worker);
+    }
+
+    /**
+     * Queues plain background work (e.g. file I/O) behind the pending jobs
+     * without cancelling them.
+     */
+    public void execute(Runnable task) {
+        _executor.execute(task);
+    }
+
+    /**
+     * Cancels the pending or running job, if any. Call on the EDT.
+     */
+    public void cancel() {
+        if (_current != null) {
+            _current.cancel(true);
+            _current = null;
+        }
+    }
+
+    /**
+     * @return true while a submitted job has not delivered its result
+     */
+    public boolean isBusy() {
+        return _current != null && !_current.isDone();
+    }
+
+    /**
+     * Cancels the pending job and lets the worker thread finish the queued
+     * background work before it exits.
+     */
+    public void shutdown() {
+        cancel();
+        _executor.shutdown();
+    }
+
+    /**
+     * Restarts a single-shot timer whenever one of the attached text fields
+     * is edited and runs the action once the edits pause, e.g. to recompute
+     * the dependent values live without a solve per keystroke. Runs on the
+     * EDT; disable it while writing results back to attached fields.
+     */
+    public static final class Debouncer {
+
+        private final javax.swing.Timer _timer;
+        private boolean _enabled = true;
+
+        /**
+         * @param delayMillis - quiet time after the last edit
+         * @param action - run on the EDT when the timer fires
+         */
+        public Debouncer(int delayMillis, java.awt.event.ActionListener action) {
+            _timer = new javax.swing.Timer(delayMillis, action);
+            _timer.setRepeats(false);
+        }
+
+        /**
+         * Triggers the action on edits of the given fields.
+         */
+        public void attach(JTextComponent... fields) {
+            DocumentListener listener = new DocumentListener() {
+                @Override
+                public void insertUpdate(DocumentEvent e) {
+                    trigger();
+                }
+
+                @Override
+                public void removeUpdate(DocumentEvent e) {
+                    trigger();
+                }
+
+                @Override
+                public void changedUpdate(DocumentEvent e) {
+                    trigger();
+                }
+            };
+            for (JTextComponent field : fields) {
+                field.getDocument().addDocumentListener(listener);
+            }
+        }
+
+        /**
+         * (Re)starts the quiet period, unless disabled.
+         */
+        public void trigger() {
+            if (_enabled) {
+                _timer.restart();
+            }
+        }
+
+        public void setEnabled(boolean enabled) {
+            _enabled = enabled;
+        }
+
+        public void stop() {
+            _timer.stop();
+        }
+    }
+
+    // ===============================================
+    // helper routines
+    // ===============================================
+
+    private static final class Worker<T> extends SwingWorker<T, Void> implements Progress {
+
+        private final Job<T> _job;
+
+        Worker(Job<T> job) {
+            _job = job;
+            addPropertyChangeListener(new PropertyChangeListener() {
+                @Override
+                public void propertyChange(PropertyChangeEvent evt) {
+                    if ("progress".equals(evt.getPropertyName()) && !isCancelled()) {
+                        _job.progress((Integer) evt.getNewValue());
+                    }
+                }
+            });
+        }
+
+        @Override
+        protected T doInBackground() throws Exception {
+            return _job.compute(this);
+        }
+
+        @Override
+        public void setProgress(double fraction) {
+            setProgress((int) Math.round(100.0 * Math.min(1.0, Math.max(0.0, fraction))));
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                _job.done(get());
+            } catch (ExecutionException ex) {
+                _job.failed(ex.getCause());
+            } catch (InterruptedException | CancellationException ex) {
+                // superseded by a newer job
+            }
+        }
+    }
+}
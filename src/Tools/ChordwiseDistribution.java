@@ -0,0 +1,245 @@
+package Tools;
+
+import java.util.Arrays;
+
+/**
+ * Chordwise station distributions for NACA profile generation.
+ *
+ *   LEGACY      - the original 31 stations from a cubic spacing polynomial
+ *   COSINE      - full cosine spacing, clustered at the leading and trailing edge
+ *   HALF_COSINE - half cosine spacing, clustered at the leading edge only
+ *   ADAPTIVE    - curvature-adaptive spacing: intervals are bisected until the
+ *                 straight segment between neighbouring points deviates from
+ *                 both surfaces by less than the requested tolerance, so the
+ *                 number of points follows the curvature of the section
+ *
+ * Fixed distributions are evaluated once and reused for every airfoil.
+ */
+public final class ChordwiseDistribution {
+
+    public enum Type {
+        LEGACY, COSINE, HALF_COSINE, ADAPTIVE
+    }
+
+    /** Default tolerance of the adaptive distribution (fraction of chord). */
+    public static final double DEFAULT_TOLERANCE = 2.5e-4;
+
+    private static final int MIN_INTERVALS = 8;
+    private static final int MAX_DEPTH = 16;
+    private static final int MAX_STATIONS = 4001;
+
+    private static final ChordwiseDistribution DEFAULT = new ChordwiseDistribution(Type.LEGACY, 31, 0.0);
+
+    private final Type _type;
+    private final int _numStations;
+    private final double _tolerance;
+    private double[] _fixedStations;
+
+    private ChordwiseDistribution(Type type, int numStations, double tolerance) {
+        _type = type;
+        _numStations = numStations;
+        _tolerance = tolerance;
+    }
+
+    /**
+     * @return The original 31-station distribution
+     */
+    public static ChordwiseDistribution getDefault() {
+        return DEFAULT;
+    }
+
+    public static ChordwiseDistribution cosine(int numStations) {
+        return new ChordwiseDistribution(Type.COSINE, checkStations(numStations), 0.0);
+    }
+
+    public static ChordwiseDistribution halfCosine(int numStations) {
+        return new ChordwiseDistribution(Type.HALF_COSINE, checkStations(numStations), 0.0);
+    }
+
+    /**
+     * @param tolerance - maximum chordal deviation as a fraction of chord
+     */
+    public static ChordwiseDistribution adaptive(double tolerance) {
+        if (!(tolerance > 0.0)) {
+            throw new IllegalArgumentException("Tolerance must be positive");
+        }
+        return new ChordwiseDistribution(Type.ADAPTIVE, 0, tolerance);
+    }
+
+    public Type getType() {
+        return _type;
+    }
+
+    public boolean isAdaptive() {
+        return _type == Type.ADAPTIVE;
+    }
+
+    /**
+     * @return Key identifying the distribution, used to cache profiles
+     */
+    public String getKey() {
+        switch (_type) {
+            case COSINE:
+                return "cos" + _numStations;
+            case HALF_COSINE:
+                return "hcos" + _numStations;
+            case ADAPTIVE:
+                return "adapt" + _tolerance;
+            default:
+                return "legacy";
+        }
+    }
+
+    /**
+     * Computes the stations for an airfoil. Fixed distributions ignore the
+     * specification.
+     *
+     * @param spec - parsed NACA specification
+     * @return Ascending stations from 0 to 1 (a private copy)
+     */
+    public double[] stations(AirfoilSpec spec) {
+        if (_type == Type.ADAPTIVE) {
+            return adaptiveStations(spec);
+        }
+        return fixedStations().clone();
+    }
+
+    @Override
+    public String toString() {
+        return getKey();
+    }
+
+    // ===============================================
+    // fixed distributions
+    // ===============================================
+
+    private synchronized double[] fixedStations() {
+        if (_fixedStations == null) {
+            int n = _numStations;
+            double[] x = new double[n];
+            switch (_type) {
+                case COSINE:
+                    for (int i = 0; i < n; ++i) {
+                        x[i] = 0.5 * (1.0 - Math.cos(Math.PI * i / (n - 1)));
+                    }
+                    break;
+                case HALF_COSINE:
+                    for (int i = 0; i < n; ++i) {
+                        x[i] = 1.0 - Math.cos(0.5 * Math.PI * i / (n - 1));
+                    }
+                    break;
+                default:
+                    x = NacaProfileEngine.getDefaultStations();
+                    break;
+            }
+            x[0] = 0.0;
+            x[x.length - 1] = 1.0;
+            _fixedStations = x;
+        }
+        return _fixedStations;
+    }
+
+    private static int checkStations(int numStations) {
+        if (numStations < 3) {
+            throw new IllegalArgumentException("At least 3 chordwise stations are needed");
+        }
+        return numStations;
+    }
+
+    // ===============================================
+    // adaptive distribution
+    // ===============================================
+
+    // stations are refined in s with x = s*s, which resolves the sqrt(x)
+    // behaviour of the thickness at the leading edge
+    private double[] adaptiveStations(AirfoilSpec spec) {
+        Refiner r = new Refiner(spec, _tolerance);
+        double[] a = new double[4];
+        double[] b = new double[4];
+        r.eval(0.0, a);
+        for (int k = 1; k <= MIN_INTERVALS; ++k) {
+            double sa = (double) (k - 1) / MIN_INTERVALS;
+            double sb = (double) k / MIN_INTERVALS;
+            r.eval(sb, b);
+            r.refine(sa, a[0], a[1], a[2], a[3], sb, b[0], b[1], b[2], b[3], 0);
+            double[] tmp = a;
+            a = b;
+            b = tmp;
+        }
+        r.add(1.0);
+        return r.toArray();
+    }
+
+    private static final class Refiner {
+
+        private final AirfoilSpec _spec;
+        private final double _tol2;
+        private final double[] _coord = new double[2];
+        private double[] _stations = new double[64];
+        private int _count;
+
+        Refiner(AirfoilSpec spec, double tolerance) {
+            _spec = spec;
+            _tol2 = tolerance * tolerance;
+        }
+
+        // {x_upper, y_upper, x_lower, y_lower} at parameter s
+        void eval(double s, double[] out) {
+            double xs = s * s;
+            _spec.point(xs, true, _coord);
+            out[0] = _coord[0];
+            out[1] = _coord[1];
+            _spec.point(xs, false, _coord);
+            out[2] = _coord[0];
+            out[3] = _coord[1];
+        }
+
+        // bisects [sa, sb] until both surface chords are within tolerance,
+        // emitting the left end of each accepted interval in ascending order
+        void refine(double sa, double xua, double yua, double xla, double yla,
+                double sb, double xub, double yub, double xlb, double ylb, int depth) {
+            double sm = 0.5 * (sa + sb);
+            double xs = sm * sm;
+            _spec.point(xs, true, _coord);
+            double xum = _coord[0];
+            double yum = _coord[1];
+            _spec.point(xs, false, _coord);
+            double xlm = _coord[0];
+            double ylm = _coord[1];
+
+            boolean fine = deviation2(xua, yua, xub, yub, xum, yum) <= _tol2
+                    && deviation2(xla, yla, xlb, ylb, xlm, ylm) <= _tol2;
+            if (fine || depth >= MAX_DEPTH || _count >= MAX_STATIONS - 2) {
+                add(sa * sa);
+                return;
+            }
+            refine(sa, xua, yua, xla, yla, sm, xum, yum, xlm, ylm, depth + 1);
+            refine(sm, xum, yum, xlm, ylm, sb, xub, yub, xlb, ylb, depth + 1);
+        }
+
+        void add(double xs) {
+            if (_count == _stations.length) {
+                _stations = Arrays.copyOf(_stations, 2 * _count);
+            }
+            _stations[_count++] = xs;
+        }
+
+        double[] toArray() {
+            return Arrays.copyOf(_stations, _count);
+        }
+
+        // squared distance of (xm, ym) from the segment a-b
+        private static double deviation2(double xa, double ya, double xb, double yb, double xm, double ym) {
+            double dx = xb - xa;
+            double dy = yb - ya;
+            double len2 = dx * dx + dy * dy;
+            double ex = xm - xa;
+            double ey = ym - ya;
+            if (len2 == 0.0) {
+                return ex * ex + ey * ey;
+            }
+            double cross = ex * dy - ey * dx;
+            return cross * cross / len2;
+        }
+    }
+}
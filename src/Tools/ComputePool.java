@@ -0,0 +1,23 @@
+package Tools;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Shared fork-join pool for the headless bulk generators, sized to the number
+ * of available cores. Worker threads are daemons, so the pool never keeps the
+ * STAR-CCM+ client alive.
+ */
+public final class ComputePool {
+
+    private static ForkJoinPool _pool;
+
+    private ComputePool() {
+    }
+
+    public static synchronized ForkJoinPool get() {
+        if (_pool == null) {
+            _pool = new ForkJoinPool();
+        }
+        return _pool;
+    }
+}
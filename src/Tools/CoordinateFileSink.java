@@ -0,0 +1,62 @@
+package Tools;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * Writes profiles to a single coordinate file as they arrive, one Selig
+ * block per profile separated by blank lines. Text is formatted on the
+ * calling worker thread; only the write itself is serialized.
+ */
+public class CoordinateFileSink implements ProfileSink, Closeable {
+
+    private final Writer _out;
+    private IOException _error;
+    private int _count;
+
+    public CoordinateFileSink(File file) throws IOException {
+        _out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), Charset.forName("US-ASCII")), 1 << 16);
+    }
+
+    @Override
+    public void accept(AirfoilProfile profile) {
+        StringBuilder sb = new StringBuilder(40 * profile.getPointCount() + 32);
+        SeligFormat.append(sb, profile);
+        sb.append('\n');
+        synchronized (this) {
+            if (_error != null) {
+                return;
+            }
+            try {
+                _out.write(sb.toString());
+                _count++;
+            } catch (IOException ex) {
+                _error = ex;
+            }
+        }
+    }
+
+    /**
+     * @return Number of profiles written so far
+     */
+    public synchronized int getCount() {
+        return _count;
+    }
+
+    /**
+     * Flushes and closes the file, reporting the first write error if any.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        _out.close();
+        if (_error != null) {
+            throw _error;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package Tools;
+
+import java.io.IOException;
+
+/**
+ * Walks a list of farfield domain sizes, e.g. for a domain-independence
+ * study. Every step sets L_up, L_down and HalfHeight in one update of the
+ * 3D-CAD model with a single regeneration, and records how long that took.
+ * The domain is left at the last size.
+ */
+public final class DomainSweep {
+
+    /** Design parameters of the rectangular farfield, in the order of a size row. */
+    public static final String[] PARAMETERS = {"L_up", "L_down", "HalfHeight"};
+
+    private final double[][] _sizes;
+    private final long[] _nanos;
+    private final double[] _original;
+
+    /**
+     * Called after each regeneration, e.g. to mesh and solve the step.
+     */
+    public interface Listener {
+
+        /**
+         * @param step - index of the size
+         * @param size - L_up, L_down and HalfHeight of the step
+         */
+        void regenerated(int step, double[] size);
+    }
+
+    private DomainSweep(double[][] sizes, long[] nanos, double[] original) {
+        _sizes = sizes;
+        _nanos = nanos;
+        _original = original;
+    }
+
+    /**
+     * Runs the sweep.
+     *
+     * @param sim - simulation
+     * @param cadName - 3D-CAD model of the farfield
+     * @param sizes - L_up, L_down and HalfHeight per step
+     * @param listener - called after each step, null for none
+     * @return Regeneration time per step
+     * @throws IllegalArgumentException if a size is not three positive values,
+     * before anything is changed, or if the design parameters do not exist
+     */
+    public static DomainSweep run(SimulationFacade sim, String cadName, double[][] sizes, Listener listener) {
+        double[][] copy = new double[sizes.length][];
+        for (int i = 0; i < sizes.length; ++i) {
+            double[] size = sizes[i];
+            if (size.length != PARAMETERS.length || !(size[0] > 0.0) || !(size[1] > 0.0) || !(size[2] > 0.0)) {
+                throw new IllegalArgumentException("Domain size " + i + " needs positive L_up, L_down and HalfHeight");
+            }
+            copy[i] = size.clone();
+        }
+
+        long[] nanos = new long[copy.length];
+        double[] original = null;
+        double[] previous = new double[PARAMETERS.length];
+        for (int i = 0; i < copy.length; ++i) {
+            long start = System.nanoTime();
+            sim.setDesignParameters(cadName, PARAMETERS, copy[i], previous);
+            nanos[i] = System.nanoTime() - start;
+            if (original == null) {
+                original = previous.clone();
+            }
+            if (listener != null) {
+                listener.regenerated(i, copy[i]);
+            }
+        }
+        return new DomainSweep(copy, nanos, original);
+    }
+
+    public int size() {
+        return _sizes.length;
+    }
+
+    /**
+     * @return L_up, L_down and HalfHeight of a step (read-only)
+     */
+    public double[] getSize(int step) {
+        return _sizes[step];
+    }
+
+    /**
+     * @return L_up, L_down and HalfHeight before the sweep, null if it had no steps
+     */
+    public double[] getOriginalSize() {
+        return _original;
+    }
+
+    /**
+     * @return Time of the update and regeneration of a step
+     */
+    public double getRegenerationSeconds(int step) {
+        return _nanos[step] * 1.0e-9;
+    }
+
+    /**
+     * @return Regeneration time of all steps, without the listener
+     */
+    public double getTotalSeconds() {
+        long total = 0;
+        for (long nanos : _nanos) {
+            total += nanos;
+        }
+        return total * 1.0e-9;
+    }
+
+    /**
+     * Writes one row per step: the size and its regeneration time.
+     *
+     * @param out - destination, e.g. a Writer or StringBuilder
+     */
+    public void writeCsv(Appendable out) throws IOException {
+        out.append("step,L_up,L_down,HalfHeight,regeneration_s\n");
+        StringBuilder row = new StringBuilder(96);
+        for (int i = 0; i < _sizes.length; ++i) {
+            row.setLength(0);
+            row.append(i);
+            for (double value : _sizes[i]) {
+                row.append(',').append(value);
+            }
+            row.append(',').append(getRegenerationSeconds(i)).append('\n');
+            out.append(row);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package Tools;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interpolation tables for the inverse hyperbolic tangent (HT) prism layer
+ * relations, built once per layer count on first use and then shared
+ * without locking. A lookup costs a square root, a logarithm and a cubic
+ * Hermite interpolation; only inputs beyond the tabulated stretching range
+ * fall back to an exact solve with PrismLayerSolver.
+ *
+ * Both inverses are tabulated against a variable in which the stretching
+ * factor F is smooth down to F = 0, where the relations are quadratic:
+ *   thickness ratio R      - w = sqrt(ln R),        ln R ~ a F^2
+ *   near-wall fraction phi - w = sqrt(-ln(phi N)),  -ln(phi N) ~ a(1+a)/3 F^2
+ * with phi = nearWall/totalThick and a = 1 - 1/N. Nodes are uniform in w and
+ * hold F and dF/dw from exact solves. While building, every interval is
+ * checked at its midpoint against an exact solve and the grid is refined
+ * until the relative error is within TOLERANCE.
+ */
+public final class HyperbolicTangentTable {
+
+    /** Relative error bound of the interpolated stretching factor. */
+    public static final double TOLERANCE = 1.0e-10;
+    /** Largest tabulated stretching factor. */
+    public static final double MAX_STRETCH = 40.0;
+
+    private static final int MIN_INTERVALS = 64;
+    private static final int MAX_INTERVALS = 1 << 16;
+    // one slot per layer count: lock-free once built, built at most once
+    private static final ConcurrentHashMap<Integer, Slot> TABLES = new ConcurrentHashMap<>();
+
+    private final int _N;
+    private final Curve _ratio;
+    private final Curve _nearWall;
+
+    private HyperbolicTangentTable(int N) {
+        _N = N;
+        double a = 1.0 - 1.0 / N;
+        _ratio = new Curve(N, false, 1.0 / Math.sqrt(a));
+        _nearWall = new Curve(N, true, 1.0 / Math.sqrt(a * (1.0 + a) / 3.0));
+    }
+
+    /**
+     * @param N - number of layers, at least 2
+     * @return The table for N layers, built on first use
+     */
+    public static HyperbolicTangentTable forLayers(int N) {
+        if (N < 2) {
+            throw new IllegalArgumentException("HT tables need at least 2 layers, got " + N);
+        }
+        Slot slot = TABLES.get(N);
+        if (slot == null) {
+            Slot created = new Slot(N);
+            slot = TABLES.putIfAbsent(N, created);
+            if (slot == null) {
+                slot = created;
+            }
+        }
+        return slot.get();
+    }
+
+    /**
+     * HT stretching factor for a thickness ratio.
+     *
+     * @param N - number of layers
+     * @param thicknessRatio - last to first layer thickness ratio, at least 1
+     * @return Stretching factor, NaN if there is none
+     */
+    public static double stretchingFromThicknessRatio(int N, double thicknessRatio) {
+        if (N < 2) {
+            return Double.NaN;
+        }
+        return forLayers(N).stretchingFromThicknessRatio(thicknessRatio);
+    }
+
+    /**
+     * HT stretching factor for a near-wall thickness.
+     *
+     * @param N - number of layers
+     * @param totalThick - total prism layer thickness
+     * @param nearWall - near-wall layer thickness, at most totalThick/N
+     * @return Stretching factor, NaN if there is none
+     */
+    public static double stretchingFromNearWallThickness(int N, double totalThick, double nearWall) {
+        if (N < 2) {
+            return Double.NaN;
+        }
+        return forLayers(N).stretchingFromNearWallThickness(totalThick, nearWall);
+    }
+
+    public int getLayers() {
+        return _N;
+    }
+
+    /**
+     * @param thicknessRatio - last to first layer thickness ratio, at least 1
+     * @return Stretching factor, NaN if there is none
+     */
+    public double stretchingFromThicknessRatio(double thicknessRatio) {
+        double w = Math.sqrt(Math.log(thicknessRatio));
+        if (w <= _ratio._wMax) {
+            return _ratio.interpolate(w);
+        }
+        PrismLayerSolver.Result result = new PrismLayerSolver.Result();
+        PrismLayerSolver.getDefault().stretchingFromThicknessRatioHT(_N, thicknessRatio, result);
+        return result.getValue();
+    }
+
+    /**
+     * @param totalThick - total prism layer thickness
+     * @param nearWall - near-wall layer thickness, at most totalThick/N
+     * @return Stretching factor, NaN if there is none
+     */
+    public double stretchingFromNearWallThickness(double totalThick, double nearWall) {
+        double w = Math.sqrt(-Math.log(nearWall / totalThick * _N));
+        if (w <= _nearWall._wMax) {
+            return _nearWall.interpolate(w);
+        }
+        PrismLayerSolver.Result result = new PrismLayerSolver.Result();
+        PrismLayerSolver.getDefault().stretchingFromNearWallHT(_N, totalThick, nearWall, result);
+        return result.getValue();
+    }
+
+    /**
+     * @return Number of table intervals (thickness ratio, near-wall fraction)
+     */
+    public int[] getIntervals() {
+        return new int[]{_ratio._F.length - 1, _nearWall._F.length - 1};
+    }
+
+    // ===============================================
+    // helper routines
+    // ===============================================
+
+    // table of one layer count, built by the first caller while others wait
+    private static final class Slot {
+
+        private final int _N;
+        private volatile HyperbolicTangentTable _table;
+
+        Slot(int N) {
+            _N = N;
+        }
+
+        HyperbolicTangentTable get() {
+            HyperbolicTangentTable table = _table;
+            if (table == null) {
+                synchronized (this) {
+                    table = _table;
+                    if (table == null) {
+                        table = new HyperbolicTangentTable(_N);
+                        _table = table;
+                    }
+                }
+            }
+            return table;
+        }
+    }
+
+    // F(w) on a uniform grid in w, with dF/dw for cubic Hermite interpolation
+    private static final class Curve {
+
+        private final int _N;
+        private final boolean _nearWall;
+        private final double _wMax;
+        private double _h;
+        private double _invH;
+        private double[] _F;
+        private double[] _D;
+
+        Curve(int N, boolean nearWall, double slopeAtZero) {
+            _N = N;
+            _nearWall = nearWall;
+            _wMax = Math.sqrt(forward(MAX_STRETCH));
+            PrismLayerSolver.Result result = new PrismLayerSolver.Result();
+            for (int intervals = MIN_INTERVALS; ; intervals *= 2) {
+                build(intervals, slopeAtZero, result);
+                if (intervals >= MAX_INTERVALS || maxMidpointError(result) <= TOLERANCE) {
+                    break;
+                }
+            }
+        }
+
+        double interpolate(double w) {
+            if (!(w >= 0.0)) {
+                return Double.NaN;
+            }
+            double s = w * _invH;
+            int j = Math.min((int) s, _F.length - 2);
+            double t = s - j;
+            double t2 = t * t;
+            double t3 = t2 * t;
+            double h00 = 2.0 * t3 - 3.0 * t2 + 1.0;
+            double h10 = t3 - 2.0 * t2 + t;
+            double h01 = -2.0 * t3 + 3.0 * t2;
+            double h11 = t3 - t2;
+            return h00 * _F[j] + h10 * _h * _D[j] + h01 * _F[j + 1] + h11 * _h * _D[j + 1];
+        }
+
+        private void build(int intervals, double slopeAtZero, PrismLayerSolver.Result result) {
+            _h = _wMax / intervals;
+            _invH = 1.0 / _h;
+            _F = new double[intervals + 1];
+            _D = new double[intervals + 1];
+            _F[0] = 0.0;
+            _D[0] = slopeAtZero;
+            for (int j = 1; j <= intervals; ++j) {
+                double w = j * _h;
+                double F = exact(w, result);
+                _F[j] = F;
+                // dF/dw = 2w / (dy/dF) with y = w^2
+                _D[j] = 2.0 * w / slope(F);
+            }
+        }
+
+        private double maxMidpointError(PrismLayerSolver.Result result) {
+            double max = 0.0;
+            for (int j = 0; j < _F.length - 1; ++j) {
+                double w = (j + 0.5) * _h;
+                double F = exact(w, result);
+                max = Math.max(max, Math.abs(interpolate(w) - F) / F);
+            }
+            return max;
+        }
+
+        // y(F) = w^2 of the tabulated relation and its derivative
+        private double forward(double F) {
+            return _nearWall ? -Math.log(_N) - PrismLayerSolver.logNearWallFractionHT(_N, F)
+                    : PrismLayerSolver.logThicknessRatioHT(_N, F);
+        }
+
+        private double slope(double F) {
+            return _nearWall ? -PrismLayerSolver.logNearWallFractionSlopeHT(_N, F)
+                    : PrismLayerSolver.logThicknessRatioSlopeHT(_N, F);
+        }
+
+        private double exact(double w, PrismLayerSolver.Result result) {
+            PrismLayerSolver solver = PrismLayerSolver.getDefault();
+            if (_nearWall) {
+                solver.stretchingFromNearWallHT(_N, _N, Math.exp(-w * w), result);
+            } else {
+                solver.stretchingFromThicknessRatioHT(_N, Math.exp(w * w), result);
+            }
+            return result.getValue();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package Tools;
+
+/**
+ * Implicit skin-friction correlations, solved by Newton iteration in
+ * u = 1/sqrt(Cf) (or 1/sqrt(lambda)), in which both are almost linear in
+ * log10 Re:
+ *   Karman-Schoenherr  - 1/sqrt(Cf) = 4.13 log10(Re Cf)
+ *                        g(u) = u + 8.26 log10(u) - 4.13 log10(Re)
+ *   Colebrook (smooth) - 1/sqrt(lambda) = -2 log10(2.51 / (Re sqrt(lambda)))
+ *                        g(u) = u + 2 log10(u) + 2 log10(2.51) - 2 log10(Re)
+ * Colebrook gives the Darcy friction factor lambda of a smooth pipe with Lref
+ * as the hydraulic diameter; the skin friction coefficient is lambda/4.
+ *
+ * The starting guesses come from explicit correlations (ITTC 1957 for
+ * Karman-Schoenherr, Haaland for Colebrook), which are linear in log10 Re
+ * and within a few percent, so two or three Newton steps, one logarithm
+ * each, reach round-off. For sweeps a precomputed Table in log10 Re
+ * replaces the iteration by a cubic Hermite interpolation.
+ */
+public final class ImplicitSkinFriction {
+
+    private static final double LN10 = Math.log(10.0);
+    private static final double KS_SLOPE = 4.13;
+    private static final double KS_LOG = 2.0 * KS_SLOPE / LN10;
+    private static final double CB_SLOPE = 2.0;
+    private static final double CB_LOG = 2.0 / LN10;
+    private static final double CB_OFFSET = 2.0 * Math.log10(2.51);
+    private static final double INV_SQRT_ITTC = 1.0 / Math.sqrt(0.075);
+    // Newton converges quadratically: after a relative step below 1e-7 the
+    // remaining error is below round-off
+    private static final double FINAL_STEP = 1.0e-7;
+    private static final int MAX_ITERATIONS = 20;
+
+    private static Table _karmanSchoenherr;
+    private static Table _colebrook;
+
+    private ImplicitSkinFriction() {
+    }
+
+    /**
+     * @param Re - Reynolds number based on the plate length
+     * @return Mean skin friction coefficient of Karman-Schoenherr
+     */
+    public static double karmanSchoenherr(double Re) {
+        double lg = Math.log10(Re);
+        double u = Math.max((lg - 2.0) * INV_SQRT_ITTC, 1.0); // ITTC (1957)
+        u = newton(KS_SLOPE * lg, KS_LOG, u);
+        return 1.0 / (u * u);
+    }
+
+    /**
+     * @param Re - Reynolds number based on the hydraulic diameter
+     * @return Skin friction coefficient lambda/4 of the smooth-pipe Colebrook equation
+     */
+    public static double colebrookSmooth(double Re) {
+        double lg = Math.log10(Re);
+        double u = Math.max(1.8 * lg - 1.8 * Math.log10(6.9), 1.0); // Haaland, smooth
+        u = newton(CB_SLOPE * lg - CB_OFFSET, CB_LOG, u);
+        return 0.25 / (u * u);
+    }
+
+    /**
+     * @param correlation - SkinFriction.KARMAN_SCHOENHERR or SkinFriction.COLEBROOK_SMOOTH
+     * @return Interpolation table of the correlation, built on first use
+     */
+    public static synchronized Table getTable(int correlation) {
+        if (correlation == SkinFriction.KARMAN_SCHOENHERR) {
+            if (_karmanSchoenherr == null) {
+                _karmanSchoenherr = new Table(correlation);
+            }
+            return _karmanSchoenherr;
+        }
+        if (correlation == SkinFriction.COLEBROOK_SMOOTH) {
+            if (_colebrook == null) {
+                _colebrook = new Table(correlation);
+            }
+            return _colebrook;
+        }
+        throw new IllegalArgumentException("Not an implicit correlation: " + correlation);
+    }
+
+    /**
+     * Cubic Hermite table of u = 1/sqrt(Cf) over log10 Re, with nodal slopes
+     * from the implicit function theorem. Inputs outside the tabulated range
+     * are solved exactly. Immutable once built and safe to share.
+     */
+    public static final class Table {
+
+        /** Tabulated range of log10 Re. */
+        public static final double LOG_RE_MIN = 3.0;
+        public static final double LOG_RE_MAX = 10.0;
+        private static final int INTERVALS = 512;
+
+        private final int _correlation;
+        private final double _h;
+        private final double _invH;
+        private final double[] _u;
+        private final double[] _du;
+
+        Table(int correlation) {
+            _correlation = correlation;
+            _h = (LOG_RE_MAX - LOG_RE_MIN) / INTERVALS;
+            _invH = 1.0 / _h;
+            _u = new double[INTERVALS + 1];
+            _du = new double[INTERVALS + 1];
+            boolean ks = correlation == SkinFriction.KARMAN_SCHOENHERR;
+            double slope = ks ? KS_SLOPE : CB_SLOPE;
+            double log = ks ? KS_LOG : CB_LOG;
+            for (int j = 0; j <= INTERVALS; ++j) {
+                double Re = Math.pow(10.0, LOG_RE_MIN + j * _h);
+                double cf = ks ? karmanSchoenherr(Re) : 4.0 * colebrookSmooth(Re);
+                double u = 1.0 / Math.sqrt(cf);
+                _u[j] = u;
+                // g(u, lg) = 0: du/dlg = slope / (1 + log/u)
+                _du[j] = slope / (1.0 + log / u);
+            }
+        }
+
+        /**
+         * @param Re - Reynolds number
+         * @return Skin friction coefficient, as SkinFriction.calculateCf
+         */
+        public double calculateCf(double Re) {
+            double s = (Math.log10(Re) - LOG_RE_MIN) * _invH;
+            if (!(s >= 0.0 && s <= INTERVALS)) {
+                return SkinFriction.calculateCf(_correlation, Re);
+            }
+            double u = interpolate(s);
+            double cf = 1.0 / (u * u);
+            return _correlation == SkinFriction.COLEBROOK_SMOOTH ? 0.25 * cf : cf;
+        }
+
+        /**
+         * @param logRe - log10 of the Reynolds number
+         * @return 1/sqrt(Cf), for callers that have log10 Re at hand
+         */
+        double inverseSqrtCf(double logRe) {
+            double s = (logRe - LOG_RE_MIN) * _invH;
+            if (!(s >= 0.0 && s <= INTERVALS)) {
+                return 1.0 / Math.sqrt(SkinFriction.calculateCf(_correlation, Math.pow(10.0, logRe)));
+            }
+            double u = interpolate(s);
+            return _correlation == SkinFriction.COLEBROOK_SMOOTH ? 2.0 * u : u;
+        }
+
+        private double interpolate(double s) {
+            int j = Math.min((int) s, INTERVALS - 1);
+            double t = s - j;
+            double t2 = t * t;
+            double t3 = t2 * t;
+            return (2.0 * t3 - 3.0 * t2 + 1.0) * _u[j] + (t3 - 2.0 * t2 + t) * _h * _du[j]
+                    + (-2.0 * t3 + 3.0 * t2) * _u[j + 1] + (t3 - t2) * _h * _du[j + 1];
+        }
+    }
+
+    // ===============================================
+    // helper routines
+    // ===============================================
+
+    // Newton on g(u) = u + log*ln(u) - rhs, increasing and concave in u
+    private static double newton(double rhs, double log, double u) {
+        for (int it = 0; it < MAX_ITERATIONS; ++it) {
+            double g = u + log * Math.log(u) - rhs;
+            double du = g / (1.0 + log / u);
+            u -= du;
+            if (Math.abs(du) <= FINAL_STEP * u) {
+                break;
+            }
+        }
+        return u;
+    }
+}
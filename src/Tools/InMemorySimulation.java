@@ -0,0 +1,343 @@
+package Tools;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SimulationFacade without STAR-CCM+: global parameters, physics continua
+ * and 3D-CAD models are plain in-memory records, so whole workflows run
+ * headless at full speed, e.g. for regression timing and bulk automation.
+ *
+ * Continua and 3D-CAD models are added up front, as they would be in a
+ * prepared simulation file. The 3D-CAD records keep feature names and
+ * counters (sketches, spline points, roll forwards) instead of geometry.
+ * Not thread-safe, like a simulation.
+ */
+public class InMemorySimulation implements SimulationFacade {
+
+    private final File _sessionDir;
+    private final Map<String, Double> _parameters = new LinkedHashMap<>();
+    private final Map<String, Continuum> _continua = new LinkedHashMap<>();
+    private final Map<String, CadRecord> _cadModels = new HashMap<>();
+    private PrintStream _log;
+
+    /**
+     * State of one physics continuum.
+     */
+    public static final class Continuum {
+
+        private final boolean _idealGas;
+        private final double _referencePressure;
+        private final double _molarMass;
+        private double _mu = Double.NaN;
+        private double _cp = Double.NaN;
+        private double _kappa = Double.NaN;
+
+        Continuum(boolean idealGas, double referencePressure, double molarMass) {
+            _idealGas = idealGas;
+            _referencePressure = referencePressure;
+            _molarMass = molarMass;
+        }
+
+        public boolean isIdealGas() {
+            return _idealGas;
+        }
+
+        public double getReferencePressure() {
+            return _referencePressure;
+        }
+
+        public double getMolarMass() {
+            return _molarMass;
+        }
+
+        /**
+         * @return Dynamic viscosity, NaN until set
+         */
+        public double getViscosity() {
+            return _mu;
+        }
+
+        /**
+         * @return Specific heat, NaN until set
+         */
+        public double getSpecificHeat() {
+            return _cp;
+        }
+
+        /**
+         * @return Thermal conductivity, NaN until set
+         */
+        public double getThermalConductivity() {
+            return _kappa;
+        }
+    }
+
+    /**
+     * Features and counters of one 3D-CAD model.
+     */
+    public static final class CadRecord {
+
+        private final List<String> _features = new ArrayList<>();
+        private final Map<String, Double> _designParameters = new LinkedHashMap<>();
+        private int _sketches;
+        private int _splinePoints;
+        private int _rollForwards;
+
+        /**
+         * @return Feature names in creation order (read-only)
+         */
+        public List<String> getFeatures() {
+            return Collections.unmodifiableList(_features);
+        }
+
+        /**
+         * @return Design parameters by name in creation order (read-only)
+         */
+        public Map<String, Double> getDesignParameters() {
+            return Collections.unmodifiableMap(_designParameters);
+        }
+
+        public int getSketchCount() {
+            return _sketches;
+        }
+
+        public int getSplinePointCount() {
+            return _splinePoints;
+        }
+
+        public int getRollForwardCount() {
+            return _rollForwards;
+        }
+    }
+
+    /**
+     * @param sessionDir - directory returned by getSessionDir()
+     */
+    public InMemorySimulation(File sessionDir) {
+        _sessionDir = sessionDir;
+    }
+
+    /**
+     * @param log - destination of println(), null to discard messages
+     */
+    public void setLog(PrintStream log) {
+        _log = log;
+    }
+
+    /**
+     * Adds a physics continuum.
+     *
+     * @param name - continuum name
+     * @param idealGas - whether it has an ideal gas model
+     * @param referencePressure - reference pressure in Pa
+     * @param molarMass - molar mass of the gas in kg/kmol
+     */
+    public void addContinuum(String name, boolean idealGas, double referencePressure, double molarMass) {
+        _continua.put(name, new Continuum(idealGas, referencePressure, molarMass));
+    }
+
+    /**
+     * @return The continuum
+     * @throws IllegalArgumentException if there is no such continuum
+     */
+    public Continuum getContinuum(String name) {
+        Continuum continuum = _continua.get(name);
+        if (continuum == null) {
+            throw new IllegalArgumentException("No physics continuum " + name);
+        }
+        return continuum;
+    }
+
+    /**
+     * Adds an empty 3D-CAD model.
+     */
+    public void addCadModel(String name) {
+        _cadModels.put(name, new CadRecord());
+    }
+
+    /**
+     * @return The 3D-CAD record
+     * @throws IllegalArgumentException if there is no such model
+     */
+    public CadRecord getCadModel(String name) {
+        CadRecord cad = _cadModels.get(name);
+        if (cad == null) {
+            throw new IllegalArgumentException("No 3D-CAD model " + name);
+        }
+        return cad;
+    }
+
+    /**
+     * @return Global parameters by name in creation order (read-only)
+     */
+    public Map<String, Double> getParameterMap() {
+        return Collections.unmodifiableMap(_parameters);
+    }
+
+    @Override
+    public void println(String message) {
+        if (_log != null) {
+            _log.println(message);
+        }
+    }
+
+    @Override
+    public File getSessionDir() {
+        return _sessionDir;
+    }
+
+    // ===============================================
+    // global parameters
+    // ===============================================
+
+    @Override
+    public List<String> getParameters(String[] names, double fallback, double[] values) {
+        List<String> missing = new ArrayList<>(0);
+        for (int i = 0; i < names.length; ++i) {
+            Double value = _parameters.get(names[i]);
+            if (value == null) {
+                missing.add(names[i]);
+                values[i] = fallback;
+            } else {
+                values[i] = value;
+            }
+        }
+        return missing;
+    }
+
+    @Override
+    public int setParameters(String[] names, double[] values, double[] previous) {
+        if (values.length < names.length) {
+            throw new IllegalArgumentException("Expected " + names.length + " values, got " + values.length);
+        }
+        int created = 0;
+        for (int i = 0; i < names.length; ++i) {
+            Double old = _parameters.put(names[i], values[i]);
+            if (old == null) {
+                created++;
+            }
+            if (previous != null) {
+                previous[i] = old == null ? Double.NaN : old;
+            }
+        }
+        return created;
+    }
+
+    // ===============================================
+    // physics continua
+    // ===============================================
+
+    @Override
+    public List<String> getGasContinua() {
+        List<String> names = new ArrayList<>();
+        for (Map.Entry<String, Continuum> entry : _continua.entrySet()) {
+            if (entry.getValue().isIdealGas()) {
+                names.add(entry.getKey());
+            }
+        }
+        return names;
+    }
+
+    @Override
+    public double getReferencePressure(String continuum) {
+        return getContinuum(continuum).getReferencePressure();
+    }
+
+    @Override
+    public double getMolarMass(String continuum) {
+        return getGasContinuum(continuum).getMolarMass();
+    }
+
+    @Override
+    public void setGasProperties(String continuum, double mu, double cp, double kappa) {
+        Continuum physics = getGasContinuum(continuum);
+        physics._mu = mu;
+        physics._cp = cp;
+        physics._kappa = kappa;
+    }
+
+    // ===============================================
+    // 3D-CAD
+    // ===============================================
+
+    @Override
+    public void createRectangularDomain(String cadName) {
+        CadRecord cad = getCadModel(cadName);
+        cad._features.add("Sketch: Rectangular Farfield");
+        cad._sketches++;
+        cad._rollForwards++;
+        for (String name : new String[] {"L_up", "L_down", "HalfHeight"}) {
+            cad._designParameters.put(name, 1.0);
+        }
+    }
+
+    @Override
+    public void setDesignParameters(String cadName, String[] names, double[] values, double[] previous) {
+        if (values.length < names.length) {
+            throw new IllegalArgumentException("Expected " + names.length + " values, got " + values.length);
+        }
+        CadRecord cad = getCadModel(cadName);
+        for (String name : names) {
+            if (!cad._designParameters.containsKey(name)) {
+                throw new IllegalArgumentException("No design parameter " + name + " in 3D-CAD model " + cadName);
+            }
+        }
+        for (int i = 0; i < names.length; ++i) {
+            Double old = cad._designParameters.put(names[i], values[i]);
+            if (previous != null) {
+                previous[i] = old;
+            }
+        }
+        cad._rollForwards++;
+    }
+
+    @Override
+    public void createSketch(String cadName, String sketchName, List<Section> sections) {
+        CadRecord cad = getCadModel(cadName);
+        cad._features.add(sketchName == null ? "Sketch " + (cad._sketches + 1) : sketchName);
+        cad._sketches++;
+        for (Section section : sections) {
+            cad._splinePoints += section.getPointCount();
+        }
+        cad._rollForwards++;
+    }
+
+    @Override
+    public void createLoft(String cadName, String loftName, String[] planeNames, String[] sketchNames,
+            double[] offsets, List<Section> sections) {
+        int n = sections.size();
+        if (planeNames.length != n || sketchNames.length != n || offsets.length != n) {
+            throw new IllegalArgumentException("Expected a plane name, sketch name and offset per section");
+        }
+        CadRecord cad = getCadModel(cadName);
+        for (int i = 0; i < n; ++i) {
+            if (offsets[i] != 0.0) {
+                cad._features.add(planeNames[i]);
+            }
+            cad._features.add(sketchNames[i]);
+            cad._sketches++;
+            cad._splinePoints += sections.get(i).getPointCount();
+        }
+        cad._features.add(loftName);
+        cad._rollForwards++;
+    }
+
+    // ===============================================
+    // helper routines
+    // ===============================================
+
+    private Continuum getGasContinuum(String name) {
+        Continuum continuum = getContinuum(name);
+        if (!continuum.isIdealGas()) {
+            throw new IllegalArgumentException("No single component gas in " + name);
+        }
+        return continuum;
+    }
+}
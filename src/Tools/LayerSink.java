@@ -0,0 +1,18 @@
+package Tools;
+
+/**
+ * Receives the prism layers of a distribution one at a time, from the wall
+ * outwards, e.g. to write them to an external mesh tool without holding the
+ * whole distribution in memory.
+ */
+public interface LayerSink {
+
+    /**
+     * @param index - layer index, 0 at the wall
+     * @param thickness - layer thickness
+     * @param height - cumulative height of the outer face of the layer
+     * @param growthRatio - thickness over the thickness of the previous layer (1 for the first layer)
+     * @param violation - true if the growth ratio exceeds the limit
+     */
+    void accept(int index, double thickness, double height, double growthRatio, boolean violation);
+}
@@ -0,0 +1,317 @@
+package Tools;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Wall spacing that varies along a surface with the local Reynolds number,
+ * instead of the single value of the Wall Y+ Calculator from the global
+ * Re = rho U Lref / mu. Free of STAR-CCM+ and Swing.
+ *
+ * The surface is a point set such as an AirfoilProfile (upper surface TE to
+ * LE, then lower surface LE to TE). The running length x of every point is
+ * its arc length from the leading edge (the stagnation point), so both
+ * surfaces start at x = 0. Per point:
+ *   Re_x     = rho U x / mu
+ *   Cf       - chosen SkinFriction correlation evaluated at Re_x
+ *   u_tau    = U sqrt(Cf/2)
+ *   nearWall = 2 targetYp mu / (rho u_tau)
+ * The correlations of SkinFriction are fits of the plate-averaged Cf, which
+ * is above the local value, so the spacing errs on the small side. Close to
+ * the leading edge Re_x is limited to MIN_REYNOLDS, where the turbulent
+ * correlations stop being meaningful.
+ *
+ * Points are processed in blocks of BLOCK_SIZE on the shared fork-join pool:
+ * one parallel pass sums the segment lengths per block, a short scan turns
+ * them into arc length offsets, and a second parallel pass evaluates every
+ * block and hands it to a SpacingSink. Memory use is independent of the
+ * number of points, apart from the caller's coordinates.
+ */
+public final class LocalWallSpacing {
+
+    /** Number of points per streamed block. */
+    public static final int BLOCK_SIZE = 8192;
+    /** Lower limit of the local Reynolds number. */
+    public static final double MIN_REYNOLDS = 1.0e4;
+
+    private final int _correlation;
+    private final double _velocity;
+    private final double _density;
+    private final double _viscosity;
+    private final double _targetYp;
+
+    /**
+     * Local spacing of a contiguous run of surface points.
+     */
+    public static final class Block {
+
+        private int _from;
+        private int _count;
+        private final double[] _x;
+        private final double[] _y;
+        private final double[] _arcLength;
+        private final double[] _reynolds;
+        private final double[] _cf;
+        private final double[] _uTau;
+        private final double[] _nearWall;
+
+        Block(int capacity) {
+            _x = new double[capacity];
+            _y = new double[capacity];
+            _arcLength = new double[capacity];
+            _reynolds = new double[capacity];
+            _cf = new double[capacity];
+            _uTau = new double[capacity];
+            _nearWall = new double[capacity];
+        }
+
+        /**
+         * @return Index of the first point of the block in the point set
+         */
+        public int getFrom() {
+            return _from;
+        }
+
+        /**
+         * @return Number of points in the block; the arrays below may be longer
+         */
+        public int getCount() {
+            return _count;
+        }
+
+        /**
+         * @return Scaled x-coordinates
+         */
+        public double[] getX() {
+            return _x;
+        }
+
+        /**
+         * @return Scaled y-coordinates
+         */
+        public double[] getY() {
+            return _y;
+        }
+
+        /**
+         * @return Arc length from the leading edge
+         */
+        public double[] getArcLength() {
+            return _arcLength;
+        }
+
+        public double[] getReynolds() {
+            return _reynolds;
+        }
+
+        public double[] getSkinFriction() {
+            return _cf;
+        }
+
+        public double[] getFrictionVelocity() {
+            return _uTau;
+        }
+
+        public double[] getNearWallThickness() {
+            return _nearWall;
+        }
+
+        /**
+         * Appends the block as CSV rows: index, x, y, arc length, Re_x, Cf,
+         * u_tau, near-wall thickness.
+         */
+        public void appendCsv(StringBuilder sb) {
+            for (int j = 0; j < _count; ++j) {
+                sb.append(_from + j).append(',').append(_x[j]).append(',').append(_y[j]).append(',')
+                        .append(_arcLength[j]).append(',').append(_reynolds[j]).append(',').append(_cf[j]).append(',')
+                        .append(_uTau[j]).append(',').append(_nearWall[j]).append('\n');
+            }
+        }
+    }
+
+    /**
+     * @param correlation - SkinFriction correlation index
+     * @param velocity - freestream velocity
+     * @param density - density
+     * @param viscosity - dynamic viscosity
+     * @param targetYp - target wall y+
+     */
+    public LocalWallSpacing(int correlation, double velocity, double density, double viscosity, double targetYp) {
+        if (!(velocity > 0.0) || !(density > 0.0) || !(viscosity > 0.0) || !(targetYp > 0.0)) {
+            throw new IllegalArgumentException("Velocity, density, viscosity and target y+ must be positive");
+        }
+        _correlation = correlation;
+        _velocity = velocity;
+        _density = density;
+        _viscosity = viscosity;
+        _targetYp = targetYp;
+    }
+
+    /**
+     * CSV header matching Block.appendCsv().
+     */
+    public static String getCsvHeader() {
+        return "index,x,y,arcLength,reynolds,skinFriction,frictionVelocity,nearWallThickness\n";
+    }
+
+    /**
+     * Streams the local spacing of a profile, with the leading edge at its
+     * smallest x-coordinate.
+     *
+     * @param profile - surface points, e.g. from buildNACAProfile or an imported file
+     * @param chord - scale from profile to physical coordinates
+     * @param sink - receives the blocks
+     */
+    public void stream(AirfoilProfile profile, double chord, SpacingSink sink) {
+        stream(profile.getX(), profile.getY(), chord, findLeadingEdge(profile.getX()), sink);
+    }
+
+    /**
+     * Streams the local spacing of a surface point set.
+     *
+     * @param x - x-coordinates along the surface
+     * @param y - y-coordinates along the surface
+     * @param scale - scale from point to physical coordinates
+     * @param leadingEdge - index of the point where the arc length starts
+     * @param sink - receives the blocks
+     */
+    public void stream(double[] x, double[] y, double scale, int leadingEdge, SpacingSink sink) {
+        int n = x.length;
+        if (y.length != n) {
+            throw new IllegalArgumentException("Coordinate arrays differ in length");
+        }
+        if (leadingEdge < 0 || leadingEdge >= n) {
+            throw new IllegalArgumentException("Leading edge index " + leadingEdge + " is outside the point set");
+        }
+        int blocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+        // arc length at the first point of every block
+        double[] offset = new double[blocks + 1];
+        ComputePool.get().invoke(new BlockTask(this, x, y, scale, null, offset, null, 0, blocks));
+        double sum = 0.0;
+        for (int b = 0; b < blocks; ++b) {
+            double length = offset[b];
+            offset[b] = sum;
+            sum += length;
+        }
+        double leadingEdgeArc = offset[leadingEdge / BLOCK_SIZE];
+        for (int i = leadingEdge - leadingEdge % BLOCK_SIZE; i < leadingEdge; ++i) {
+            leadingEdgeArc += scale * Math.hypot(x[i + 1] - x[i], y[i + 1] - y[i]);
+        }
+        offset[blocks] = leadingEdgeArc;
+
+        ComputePool.get().invoke(new BlockTask(this, x, y, scale, offset, null, sink, 0, blocks));
+    }
+
+    /**
+     * Fills the local near-wall thickness of every point.
+     *
+     * @param nearWall - output, at least x.length long
+     * @see #stream(double[], double[], double, int, SpacingSink)
+     */
+    public void fill(double[] x, double[] y, double scale, int leadingEdge, final double[] nearWall) {
+        stream(x, y, scale, leadingEdge, new SpacingSink() {
+            @Override
+            public void accept(Block block) {
+                System.arraycopy(block.getNearWallThickness(), 0, nearWall, block.getFrom(), block.getCount());
+            }
+        });
+    }
+
+    /**
+     * @return Index of the point with the smallest x-coordinate
+     */
+    public static int findLeadingEdge(double[] x) {
+        int le = 0;
+        for (int i = 1; i < x.length; ++i) {
+            if (x[i] < x[le]) {
+                le = i;
+            }
+        }
+        return le;
+    }
+
+    // ===============================================
+    // helper routines
+    // ===============================================
+
+    // near-wall values of one block, arc length of its first point given
+    private void evaluate(double[] x, double[] y, double scale, int from, int to,
+            double arcStart, double leadingEdgeArc, Block block) {
+        block._from = from;
+        block._count = to - from;
+        double wall = 2.0 * _targetYp * _viscosity / _density;
+        double reFactor = _density * _velocity / _viscosity;
+        double arc = arcStart;
+        for (int i = from; i < to; ++i) {
+            if (i > from) {
+                arc += scale * Math.hypot(x[i] - x[i - 1], y[i] - y[i - 1]);
+            }
+            int j = i - from;
+            double s = Math.abs(arc - leadingEdgeArc);
+            double Re = Math.max(reFactor * s, MIN_REYNOLDS);
+            double Cf = SkinFriction.calculateCf(_correlation, Re);
+            double uTau = _velocity * Math.sqrt(0.5 * Cf);
+            block._x[j] = scale * x[i];
+            block._y[j] = scale * y[i];
+            block._arcLength[j] = s;
+            block._reynolds[j] = Re;
+            block._cf[j] = Cf;
+            block._uTau[j] = uTau;
+            block._nearWall[j] = wall / uTau;
+        }
+    }
+
+    // first pass (sink == null): writes the arc length of block b, including
+    // the segment to the next block, into lengths[b]; second pass: evaluates
+    // the blocks and streams them to the sink
+    private static final class BlockTask extends RecursiveAction {
+
+        private final LocalWallSpacing _spacing;
+        private final double[] _x;
+        private final double[] _y;
+        private final double _scale;
+        private final double[] _offset;
+        private final double[] _lengths;
+        private final SpacingSink _sink;
+        private final int _fromBlock;
+        private final int _toBlock;
+
+        BlockTask(LocalWallSpacing spacing, double[] x, double[] y, double scale, double[] offset,
+                double[] lengths, SpacingSink sink, int fromBlock, int toBlock) {
+            _spacing = spacing;
+            _x = x;
+            _y = y;
+            _scale = scale;
+            _offset = offset;
+            _lengths = lengths;
+            _sink = sink;
+            _fromBlock = fromBlock;
+            _toBlock = toBlock;
+        }
+
+        @Override
+        protected void compute() {
+            if (_toBlock - _fromBlock > 1) {
+                int mid = (_fromBlock + _toBlock) >>> 1;
+                invokeAll(new BlockTask(_spacing, _x, _y, _scale, _offset, _lengths, _sink, _fromBlock, mid),
+                        new BlockTask(_spacing, _x, _y, _scale, _offset, _lengths, _sink, mid, _toBlock));
+                return;
+            }
+
+            int n = _x.length;
+            int from = _fromBlock * BLOCK_SIZE;
+            int to = Math.min(from + BLOCK_SIZE, n);
+            if (_sink == null) {
+                double length = 0.0;
+                for (int i = from; i < to && i + 1 < n; ++i) {
+                    length += _scale * Math.hypot(_x[i + 1] - _x[i], _y[i + 1] - _y[i]);
+                }
+                _lengths[_fromBlock] = length;
+            } else {
+                Block block = new Block(to - from);
+                _spacing.evaluate(_x, _y, _scale, from, to, _offset[_fromBlock], _offset[_offset.length - 1], block);
+                _sink.accept(block);
+            }
+        }
+    }
+}
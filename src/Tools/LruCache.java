@@ -0,0 +1,81 @@
+package Tools;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Small bounded, thread-safe least-recently-used cache. Once the capacity is
+ * reached the entry that was accessed longest ago is evicted.
+ *
+ * @param <K> - key type
+ * @param <V> - value type
+ */
+public class LruCache<K, V> {
+
+    private final int _capacity;
+    private final LinkedHashMap<K, V> _map;
+
+    /**
+     * @param capacity - Maximum number of entries kept in the cache
+     */
+    public LruCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        _capacity = capacity;
+        _map = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > _capacity;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        return _map.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        _map.put(key, value);
+    }
+
+    /**
+     * Stores the value unless another thread got there first.
+     *
+     * @return The value now held in the cache for this key
+     */
+    public synchronized V putIfAbsent(K key, V value) {
+        V existing = _map.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        _map.put(key, value);
+        return value;
+    }
+
+    /**
+     * @return Snapshot of all entries, least recently used first
+     */
+    public synchronized List<Map.Entry<K, V>> entries() {
+        List<Map.Entry<K, V>> entries = new ArrayList<>(_map.size());
+        for (Map.Entry<K, V> entry : _map.entrySet()) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(entry));
+        }
+        return entries;
+    }
+
+    public synchronized int size() {
+        return _map.size();
+    }
+
+    public int getCapacity() {
+        return _capacity;
+    }
+
+    public synchronized void clear() {
+        _map.clear();
+    }
+}
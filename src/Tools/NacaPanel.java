@@ -20,6 +20,23 @@ public class NacaPanel extends javax.swing.JPanel {
         return nacaText.getText();
     }
     
+    public void setNACA(String naca) {
+        nacaText.setText(naca);
+    }
+    
+    public ChordwiseDistribution getDistribution() {
+        switch (spacingComboBox.getSelectedIndex()) {
+            case 1:
+                return ChordwiseDistribution.cosine(41);
+            case 2:
+                return ChordwiseDistribution.halfCosine(41);
+            case 3:
+                return ChordwiseDistribution.adaptive(ChordwiseDistribution.DEFAULT_TOLERANCE);
+            default:
+                return ChordwiseDistribution.getDefault();
+        }
+    }
+    
     public String getCAD() {
         return cadComboBox.getItemAt(cadComboBox.getSelectedIndex());
     }
@@ -42,6 +59,8 @@ public class NacaPanel extends javax.swing.JPanel {
         nacaLabel = new javax.swing.JLabel();
         cadComboBox = new javax.swing.JComboBox<>();
         nacaText = new javax.swing.JTextField();
+        spacingLabel = new javax.swing.JLabel();
+        spacingComboBox = new javax.swing.JComboBox<>();
 
         org.openide.awt.Mnemonics.setLocalizedText(cadLabel, "3D-CAD model:"); // NOI18N
 
@@ -51,6 +70,11 @@ public class NacaPanel extends javax.swing.JPanel {
 
         nacaText.setText("0012"); // NOI18N
 
+        org.openide.awt.Mnemonics.setLocalizedText(spacingLabel, "Point spacing: "); // NOI18N
+
+        spacingComboBox.setModel(new javax.swing.DefaultComboBoxModel<>(new String[] {
+            "Default (31 stations)", "Cosine (41 stations)", "Half-cosine (41 stations)", "Curvature adaptive" }));
+
 
         javax.swing.GroupLayout layout = new javax.swing.GroupLayout(this);
         this.setLayout(layout);
@@ -63,6 +87,10 @@ public class NacaPanel extends javax.swing.JPanel {
                         .addComponent(nacaLabel)
                         .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                         .addComponent(nacaText, javax.swing.GroupLayout.PREFERRED_SIZE, 225, javax.swing.GroupLayout.PREFERRED_SIZE))
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(spacingLabel)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+                        .addComponent(spacingComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, 225, javax.swing.GroupLayout.PREFERRED_SIZE))
                     .addGroup(layout.createSequentialGroup()
                         .addComponent(cadLabel)
                         .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
@@ -80,6 +108,10 @@ public class NacaPanel extends javax.swing.JPanel {
                 .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
                     .addComponent(nacaLabel)
                     .addComponent(nacaText, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addGap(18, 18, 18)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(spacingLabel)
+                    .addComponent(spacingComboBox, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
                 .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
         );
     }// </editor-fold>                                                              
@@ -90,5 +122,7 @@ public class NacaPanel extends javax.swing.JPanel {
     private javax.swing.JLabel cadLabel;
     private javax.swing.JLabel nacaLabel;
     private javax.swing.JTextField nacaText;
+    private javax.swing.JComboBox<String> spacingComboBox;
+    private javax.swing.JLabel spacingLabel;
     // End of variables declaration                   
 }
@@ -0,0 +1,420 @@
+package Tools;
+
+/**
+ * Headless NACA profile engine. Fills caller-supplied x/y buffers
+ * (structure-of-arrays) for both surfaces of a NACA 4- or 5-series airfoil in
+ * a single pass over the chordwise stations. No per-point allocation and no
+ * string dispatch is done inside the loops, so the engine can be used for
+ * bulk generation of airfoil sections without the STAR-CCM+ client.
+ *
+ * Points are ordered the same way as the 3D-CAD sketch expects them: upper
+ * surface from the trailing edge to the leading edge, followed by the lower
+ * surface from the leading edge back to the trailing edge (the shared leading
+ * edge point is only stored once).
+ */
+public final class NacaProfileEngine {
+
+    private static final double[] DEFAULT_STATIONS = buildDefaultStations();
+
+    private NacaProfileEngine() {
+    }
+
+    /**
+     * Default chordwise stations (symmetric spacing about x=0.5, small near
+     * LE/TE), 31 stations giving 61 profile points.
+     *
+     * @return A copy of the default station array
+     */
+    public static double[] getDefaultStations() {
+        return DEFAULT_STATIONS.clone();
+    }
+
+    /**
+     * @param numStations - Number of chordwise stations
+     * @return Number of profile points generated from the stations
+     */
+    public static int getPointCount(int numStations) {
+        return 2 * numStations - 1;
+    }
+
+    /**
+     * Fills the profile for a NACA designation, parsing the digits once.
+     *
+     * @param digits - 4 or 5 digit NACA designation
+     * @param stations - chordwise stations, ascending from 0 to 1
+     * @param x - output x-coordinates, at least getPointCount(stations.length) long
+     * @param y - output y-coordinates, at least getPointCount(stations.length) long
+     */
+    public static void fillProfile(String digits, double[] stations, double[] x, double[] y) {
+        fillProfile(AirfoilSpec.parse(digits), stations, x, y);
+    }
+
+    /**
+     * Fills the profile for an already parsed airfoil specification.
+     *
+     * @param spec - parsed NACA specification
+     * @param stations - chordwise stations, ascending from 0 to 1
+     * @param x - output x-coordinates, at least getPointCount(stations.length) long
+     * @param y - output y-coordinates, at least getPointCount(stations.length) long
+     */
+    public static void fillProfile(AirfoilSpec spec, double[] stations, double[] x, double[] y) {
+        if (spec.isFiveDigit()) {
+            fillNACA5(spec.getM(), spec.getK1(), spec.getK2K1(), spec.getP(), spec.isReflexed(), spec.getT(),
+                    stations, x, y);
+        } else {
+            fillNACA4(spec.getM(), spec.getP(), spec.getT(), stations, x, y);
+        }
+    }
+
+    /**
+     * Fills the profile together with its geometric properties in one pass.
+     * Besides the points, the analytic thickness and camber derivatives give
+     * the surface slope and curvature at every point, while area, centroid,
+     * perimeter, maximum thickness and maximum camber are accumulated along
+     * the way.
+     *
+     * @param spec - parsed NACA specification
+     * @param stations - chordwise stations, ascending from 0 to 1
+     * @param x - output x-coordinates, at least getPointCount(stations.length) long
+     * @param y - output y-coordinates, at least getPointCount(stations.length) long
+     * @param slope - output surface slope dy/dx, same length as x
+     * @param curvature - output signed surface curvature, same length as x
+     * @return The geometric properties (referencing slope and curvature)
+     */
+    public static AirfoilProperties fillProfileWithProperties(AirfoilSpec spec, double[] stations,
+            double[] x, double[] y, double[] slope, double[] curvature) {
+        int n = stations.length;
+        checkBuffers(n, x, y);
+        checkBuffers(n, slope, curvature);
+        double t = spec.getT();
+        double rLE = 1.1019 * t * t;
+        double[] c = new double[4];
+
+        double sumCross = 0.0, sumCx = 0.0, sumCy = 0.0, perimeter = 0.0;
+        double maxCamber = 0.0, maxCamberX = 0.0;
+        double xu0 = 0.0, yu0 = 0.0, xl0 = 0.0, yl0 = 0.0;
+        for (int i = 0; i < n; ++i) {
+            double xs = stations[i];
+            camber(spec, xs, c);
+            double yt = thickness(t, xs);
+            store(i, n, xs, yt, c[0], c[1], x, y);
+            int up = n - 1 - i;
+            int lo = n - 1 + i;
+
+            if (c[0] > maxCamber) {
+                maxCamber = c[0];
+                maxCamberX = xs;
+            }
+
+            // analytic slope and curvature
+            if (xs <= 0.0) {
+                slope[up] = Double.POSITIVE_INFINITY;
+                curvature[up] = rLE > 0.0 ? 1.0 / rLE : 0.0;
+            } else {
+                double sq = Math.sqrt(xs);
+                double yt1 = 5.0 * t * (0.14845 / sq - 0.1260 + xs * (-0.7032 + xs * (0.8529 - 0.4060 * xs)));
+                double yt2 = 5.0 * t * (-0.074225 / (xs * sq) - 0.7032 + xs * (1.7058 - 1.2180 * xs));
+                double q = 1.0 + c[1] * c[1];
+                double cos = 1.0 / Math.sqrt(q);
+                double sin = c[1] * cos;
+                double th1 = c[2] / q;
+                double th2 = (c[3] * q - 2.0 * c[1] * c[2] * c[2]) / (q * q);
+                for (int side = 0; side < 2; ++side) {
+                    double sgn = side == 0 ? 1.0 : -1.0;
+                    double a = sgn * yt, a1 = sgn * yt1, a2 = sgn * yt2;
+                    double dX = 1.0 - a1 * sin - a * cos * th1;
+                    double dY = c[1] + a1 * cos - a * sin * th1;
+                    double ddX = -a2 * sin - 2.0 * a1 * cos * th1 + a * sin * th1 * th1 - a * cos * th2;
+                    double ddY = c[2] + a2 * cos - 2.0 * a1 * sin * th1 - a * cos * th1 * th1 - a * sin * th2;
+                    double k = (dX * ddY - dY * ddX) / Math.pow(dX * dX + dY * dY, 1.5);
+                    int idx = side == 0 ? up : lo;
+                    slope[idx] = dY / dX;
+                    // upper surface is traversed against increasing x
+                    curvature[idx] = side == 0 ? -k : k;
+                }
+            }
+
+            // polygon edges: upper from station i to i-1, lower from i-1 to i
+            double xu1 = x[up], yu1 = y[up], xl1 = x[lo], yl1 = y[lo];
+            if (i > 0) {
+                double cu = xu1 * yu0 - xu0 * yu1;
+                double cl = xl0 * yl1 - xl1 * yl0;
+                sumCross += cu + cl;
+                sumCx += (xu1 + xu0) * cu + (xl0 + xl1) * cl;
+                sumCy += (yu1 + yu0) * cu + (yl0 + yl1) * cl;
+                perimeter += Math.hypot(xu1 - xu0, yu1 - yu0) + Math.hypot(xl1 - xl0, yl1 - yl0);
+            }
+            xu0 = xu1;
+            yu0 = yu1;
+            xl0 = xl1;
+            yl0 = yl1;
+        }
+        // close the polygon across the trailing-edge base
+        double cb = xl0 * yu0 - xu0 * yl0;
+        sumCross += cb;
+        sumCx += (xl0 + xu0) * cb;
+        sumCy += (yl0 + yu0) * cb;
+
+        double area = 0.5 * sumCross;
+        double cx = area != 0.0 ? sumCx / (6.0 * area) : 0.0;
+        double cy = area != 0.0 ? sumCy / (6.0 * area) : 0.0;
+
+        // maximum thickness: root of dyt/dx (independent of the stations)
+        double xt = 0.3;
+        for (int k = 0; k < 8; ++k) {
+            double sq = Math.sqrt(xt);
+            double f = 0.14845 / sq - 0.1260 + xt * (-0.7032 + xt * (0.8529 - 0.4060 * xt));
+            double df = -0.074225 / (xt * sq) - 0.7032 + xt * (1.7058 - 1.2180 * xt);
+            xt -= f / df;
+        }
+
+        // maximum camber: analytic stationary point, if it beats the stations
+        double xc = maxCamberLocation(spec);
+        if (xc > 0.0 && xc < 1.0) {
+            camber(spec, xc, c);
+            if (c[0] > maxCamber) {
+                maxCamber = c[0];
+                maxCamberX = xc;
+            }
+        }
+
+        return new AirfoilProperties(area, cx, cy, perimeter, 2.0 * thickness(t, xt), xt,
+                maxCamber, maxCamberX, rLE, slope, curvature);
+    }
+
+    /**
+     * Fills both surfaces of a NACA 4-series profile.
+     *
+     * @param m - maximum camber (fraction of chord)
+     * @param p - location of maximum camber (fraction of chord)
+     * @param t - maximum thickness (fraction of chord)
+     * @param stations - chordwise stations, ascending from 0 to 1
+     * @param x - output x-coordinates
+     * @param y - output y-coordinates
+     */
+    public static void fillNACA4(double m, double p, double t, double[] stations, double[] x, double[] y) {
+        int n = stations.length;
+        checkBuffers(n, x, y);
+        double fore = m / (p * p);
+        double aft = m / ((1.0 - p) * (1.0 - p));
+        for (int i = 0; i < n; ++i) {
+            double xs = stations[i];
+            double yt = thickness(t, xs);
+            double yc, dyc_dx;
+            if (xs < p) {
+                yc = fore * (2.0 * p * xs - xs * xs);
+                dyc_dx = 2.0 * fore * (p - xs);
+            } else {
+                yc = aft * ((1.0 - 2.0 * p) + 2.0 * p * xs - xs * xs);
+                dyc_dx = 2.0 * aft * (p - xs);
+            }
+            store(i, n, xs, yt, yc, dyc_dx, x, y);
+        }
+    }
+
+    /**
+     * Fills both surfaces of a NACA 5-series profile.
+     *
+     * @param m - camber line parameter
+     * @param k1 - camber line constant k1
+     * @param k2k1 - camber line constant k2/k1 (reflexed camber only)
+     * @param p - location of maximum camber (fraction of chord)
+     * @param reflex - true for a reflexed camber line
+     * @param t - maximum thickness (fraction of chord)
+     * @param stations - chordwise stations, ascending from 0 to 1
+     * @param x - output x-coordinates
+     * @param y - output y-coordinates
+     */
+    public static void fillNACA5(double m, double k1, double k2k1, double p, boolean reflex, double t,
+            double[] stations, double[] x, double[] y) {
+        int n = stations.length;
+        checkBuffers(n, x, y);
+        double k = k1 / 6.0;
+        double m3 = m * m * m;
+        double k2k1_1m3 = k2k1 * (1.0 - m) * (1.0 - m) * (1.0 - m);
+        for (int i = 0; i < n; ++i) {
+            double xs = stations[i];
+            double yt = thickness(t, xs);
+            double yc, dyc_dx;
+            if (!reflex) {
+                if (xs < p) {
+                    yc = k * (xs * xs * xs - 3.0 * m * xs * xs + m * m * xs * (3.0 - m));
+                    dyc_dx = k * (3.0 * xs * xs - 6.0 * m * xs + m * m * (3.0 - m));
+                } else {
+                    yc = k * m3 * (1.0 - xs);
+                    dyc_dx = -k * m3;
+                }
+            } else {
+                double xm = xs - m;
+                double lead = (xs < p) ? 1.0 : k2k1;
+                yc = k * (lead * xm * xm * xm - k2k1_1m3 * xs + m3 * (1.0 - xs));
+                dyc_dx = k * (lead * 3.0 * xm * xm - k2k1_1m3 - m3);
+            }
+            store(i, n, xs, yt, yc, dyc_dx, x, y);
+        }
+    }
+
+    /**
+     * Evaluates a single NACA 4-series surface point.
+     *
+     * @param coord - output {x, y}
+     */
+    public static void pointNACA4(double m, double p, double t, double xs, boolean upper, double[] coord) {
+        double yt = thickness(t, xs);
+        double yc, dyc_dx;
+        if (xs < p) {
+            yc = m / (p * p) * (2.0 * p * xs - xs * xs);
+            dyc_dx = 2.0 * m / (p * p) * (p - xs);
+        } else {
+            yc = m / ((1.0 - p) * (1.0 - p)) * ((1.0 - 2.0 * p) + 2.0 * p * xs - xs * xs);
+            dyc_dx = 2.0 * m / ((1.0 - p) * (1.0 - p)) * (p - xs);
+        }
+        point(xs, yt, yc, dyc_dx, upper, coord);
+    }
+
+    /**
+     * Evaluates a single NACA 5-series surface point.
+     *
+     * @param coord - output {x, y}
+     */
+    public static void pointNACA5(double m, double k1, double k2k1, double p, boolean reflex, double t,
+            double xs, boolean upper, double[] coord) {
+        double yt = thickness(t, xs);
+        double k = k1 / 6.0;
+        double m3 = m * m * m;
+        double yc, dyc_dx;
+        if (!reflex) {
+            if (xs < p) {
+                yc = k * (xs * xs * xs - 3.0 * m * xs * xs + m * m * xs * (3.0 - m));
+                dyc_dx = k * (3.0 * xs * xs - 6.0 * m * xs + m * m * (3.0 - m));
+            } else {
+                yc = k * m3 * (1.0 - xs);
+                dyc_dx = -k * m3;
+            }
+        } else {
+            double xm = xs - m;
+            double lead = (xs < p) ? 1.0 : k2k1;
+            double k2k1_1m3 = k2k1 * (1.0 - m) * (1.0 - m) * (1.0 - m);
+            yc = k * (lead * xm * xm * xm - k2k1_1m3 * xs + m3 * (1.0 - xs));
+            dyc_dx = k * (lead * 3.0 * xm * xm - k2k1_1m3 - m3);
+        }
+        point(xs, yt, yc, dyc_dx, upper, coord);
+    }
+
+    /**
+     * Evaluates a single surface point of a NACA 4- or 5-series airfoil.
+     *
+     * @param spec - parsed NACA specification
+     * @param xs - chordwise station
+     * @param upper - true for the upper surface
+     * @param coord - output {x, y}
+     */
+    public static void point(AirfoilSpec spec, double xs, boolean upper, double[] coord) {
+        if (spec.isFiveDigit()) {
+            pointNACA5(spec.getM(), spec.getK1(), spec.getK2K1(), spec.getP(), spec.isReflexed(), spec.getT(),
+                    xs, upper, coord);
+        } else {
+            pointNACA4(spec.getM(), spec.getP(), spec.getT(), xs, upper, coord);
+        }
+    }
+
+    // ===============================================
+    // kernel helpers
+    // ===============================================
+
+    // half-thickness distribution, shared by the 4- and 5-series
+    private static double thickness(double t, double xs) {
+        return 5.0 * t * (0.2969 * Math.sqrt(xs) + xs * (-0.1260 + xs * (-0.3516 + xs * (0.2843 - 0.1015 * xs))));
+    }
+
+    // writes the upper point at (n-1-i) and the lower point at (n-1+i);
+    // sin/cos of atan(dyc_dx) are evaluated algebraically
+    private static void store(int i, int n, double xs, double yt, double yc, double dyc_dx, double[] x, double[] y) {
+        double cos = 1.0 / Math.sqrt(1.0 + dyc_dx * dyc_dx);
+        double dx = yt * dyc_dx * cos;
+        double dy = yt * cos;
+        int up = n - 1 - i;
+        int lo = n - 1 + i;
+        x[up] = xs - dx;
+        y[up] = yc + dy;
+        x[lo] = xs + dx;
+        y[lo] = yc - dy;
+    }
+
+    // {yc, dyc/dx, d2yc/dx2, d3yc/dx3} of the camber line
+    private static void camber(AirfoilSpec spec, double xs, double[] c) {
+        double m = spec.getM();
+        double p = spec.getP();
+        if (!spec.isFiveDigit()) {
+            double f = xs < p ? m / (p * p) : m / ((1.0 - p) * (1.0 - p));
+            c[0] = xs < p ? f * (2.0 * p * xs - xs * xs) : f * ((1.0 - 2.0 * p) + 2.0 * p * xs - xs * xs);
+            c[1] = 2.0 * f * (p - xs);
+            c[2] = -2.0 * f;
+            c[3] = 0.0;
+            return;
+        }
+        double k = spec.getK1() / 6.0;
+        double m3 = m * m * m;
+        if (!spec.isReflexed()) {
+            if (xs < p) {
+                c[0] = k * (xs * xs * xs - 3.0 * m * xs * xs + m * m * xs * (3.0 - m));
+                c[1] = k * (3.0 * xs * xs - 6.0 * m * xs + m * m * (3.0 - m));
+                c[2] = k * (6.0 * xs - 6.0 * m);
+                c[3] = 6.0 * k;
+            } else {
+                c[0] = k * m3 * (1.0 - xs);
+                c[1] = -k * m3;
+                c[2] = 0.0;
+                c[3] = 0.0;
+            }
+        } else {
+            double k2k1 = spec.getK2K1();
+            double k2k1_1m3 = k2k1 * (1.0 - m) * (1.0 - m) * (1.0 - m);
+            double xm = xs - m;
+            double lead = (xs < p) ? 1.0 : k2k1;
+            c[0] = k * (lead * xm * xm * xm - k2k1_1m3 * xs + m3 * (1.0 - xs));
+            c[1] = k * (lead * 3.0 * xm * xm - k2k1_1m3 - m3);
+            c[2] = k * lead * 6.0 * xm;
+            c[3] = k * lead * 6.0;
+        }
+    }
+
+    // x where dyc/dx = 0 on the forward camber line (-1 if there is none)
+    private static double maxCamberLocation(AirfoilSpec spec) {
+        double m = spec.getM();
+        if (!spec.isFiveDigit()) {
+            return m > 0.0 ? spec.getP() : -1.0;
+        }
+        if (!spec.isReflexed()) {
+            return m * (1.0 - Math.sqrt(m / 3.0));
+        }
+        double k2k1 = spec.getK2K1();
+        double rhs = (k2k1 * (1.0 - m) * (1.0 - m) * (1.0 - m) + m * m * m) / 3.0;
+        return m - Math.sqrt(rhs);
+    }
+
+    private static void point(double xs, double yt, double yc, double dyc_dx, boolean upper, double[] coord) {
+        double cos = 1.0 / Math.sqrt(1.0 + dyc_dx * dyc_dx);
+        double sign = upper ? 1.0 : -1.0;
+        coord[0] = xs - sign * yt * dyc_dx * cos;
+        coord[1] = yc + sign * yt * cos;
+    }
+
+    private static void checkBuffers(int numStations, double[] x, double[] y) {
+        int n = getPointCount(numStations);
+        if (x.length < n || y.length < n) {
+            throw new IllegalArgumentException("Coordinate buffers need room for " + n + " points");
+        }
+    }
+
+    private static double[] buildDefaultStations() {
+        double x[] = new double[31];
+        for (int i = 0; i < 15; ++i) {
+            double tmp = ((double) i) / 15.0;
+            x[i] = -0.01898 * tmp + 0.73302 * tmp * tmp - 0.21316 * tmp * tmp * tmp;
+            x[30 - i] = 1.0 - x[i];
+        }
+        x[15] = 0.5;
+        return x;
+    }
+}
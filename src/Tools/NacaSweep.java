@@ -0,0 +1,237 @@
+package Tools;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Generates whole families of NACA profiles in parallel on the shared
+ * fork-join pool. Designations are given as a list or as a pattern, checked
+ * against the NacaValidator rules, and every finished profile is streamed to
+ * a ProfileSink as soon as it is generated.
+ *
+ * Pattern syntax (several patterns may be separated by spaces or ';'):
+ *   [a-b]    - every integer from a to b, zero padded to the width of b
+ *   [a-b/s]  - every s-th integer from a to b
+ *   {u,v,w}  - each of the listed alternatives
+ *   digits   - taken literally
+ * e.g. "{00,24,44}[06-24/2]" or "230[12-18]".
+ */
+public final class NacaSweep {
+
+    private static final int MAX_DESIGNATIONS = 1000000;
+    private static final int LEAF_SIZE = 8;
+
+    private NacaSweep() {
+    }
+
+    /**
+     * Summary of a finished sweep.
+     */
+    public static final class Result {
+
+        private final int _generated;
+        private final List<String> _rejected;
+        private final long _elapsedNanos;
+
+        Result(int generated, List<String> rejected, long elapsedNanos) {
+            _generated = generated;
+            _rejected = Collections.unmodifiableList(rejected);
+            _elapsedNanos = elapsedNanos;
+        }
+
+        public int getGenerated() {
+            return _generated;
+        }
+
+        /**
+         * @return Designations that failed validation and were skipped
+         */
+        public List<String> getRejected() {
+            return _rejected;
+        }
+
+        public double getElapsedSeconds() {
+            return _elapsedNanos * 1.0e-9;
+        }
+    }
+
+    /**
+     * Expands a designation pattern into the list of designations it covers.
+     *
+     * @param pattern - one or more designation patterns
+     * @return Designations in pattern order
+     * @throws IllegalArgumentException if the pattern is malformed
+     */
+    public static List<String> expand(String pattern) {
+        List<String> all = new ArrayList<>();
+        for (String token : pattern.trim().split("[\\s;]+")) {
+            if (!token.isEmpty()) {
+                expandToken(token, all);
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Expands the pattern and generates all valid profiles on the default
+     * chordwise stations.
+     *
+     * @param pattern - one or more designation patterns
+     * @param sink - receives the profiles, called concurrently
+     * @return Sweep summary
+     */
+    public static Result run(String pattern, ProfileSink sink) {
+        return run(expand(pattern), ChordwiseDistribution.getDefault(), sink);
+    }
+
+    /**
+     * Expands the pattern and generates all valid profiles.
+     *
+     * @param pattern - one or more designation patterns
+     * @param distribution - chordwise station distribution
+     * @param sink - receives the profiles, called concurrently
+     * @return Sweep summary
+     */
+    public static Result run(String pattern, ChordwiseDistribution distribution, ProfileSink sink) {
+        return run(expand(pattern), distribution, sink);
+    }
+
+    /**
+     * Validates the designations and generates all valid profiles in parallel.
+     *
+     * @param designations - NACA designations
+     * @param distribution - chordwise station distribution
+     * @param sink - receives the profiles, called concurrently
+     * @return Sweep summary
+     */
+    public static Result run(List<String> designations, ChordwiseDistribution distribution, ProfileSink sink) {
+        long start = System.nanoTime();
+        String[] names = designations.toArray(new String[designations.size()]);
+        BitSet valid = NacaValidator.validateAll(names, null);
+        List<String> rejected = new ArrayList<>(names.length - valid.cardinality());
+        String[] accepted = new String[valid.cardinality()];
+        int n = 0;
+        for (int i = 0; i < names.length; ++i) {
+            if (valid.get(i)) {
+                accepted[n++] = names[i];
+            } else {
+                rejected.add(names[i]);
+            }
+        }
+
+        if (n > 0) {
+            ComputePool.get().invoke(new GenerateTask(accepted, 0, n, distribution, sink));
+        }
+        return new Result(n, rejected, System.nanoTime() - start);
+    }
+
+    // ===============================================
+    // helper routines
+    // ===============================================
+
+    private static final class GenerateTask extends RecursiveAction {
+
+        private final String[] _names;
+        private final int _from;
+        private final int _to;
+        private final ChordwiseDistribution _distribution;
+        private final ProfileSink _sink;
+
+        GenerateTask(String[] names, int from, int to, ChordwiseDistribution distribution, ProfileSink sink) {
+            _names = names;
+            _from = from;
+            _to = to;
+            _distribution = distribution;
+            _sink = sink;
+        }
+
+        @Override
+        protected void compute() {
+            if (_to - _from <= LEAF_SIZE) {
+                // generated directly: the shared cache would serialize the
+                // workers and a large sweep would evict the interactive entries
+                for (int i = _from; i < _to; ++i) {
+                    AirfoilSpec spec = AirfoilSpec.parse(_names[i]);
+                    _sink.accept(AirfoilProfile.generate(spec, _distribution.stations(spec)));
+                }
+            } else {
+                int mid = (_from + _to) >>> 1;
+                invokeAll(new GenerateTask(_names, _from, mid, _distribution, _sink),
+                        new GenerateTask(_names, mid, _to, _distribution, _sink));
+            }
+        }
+    }
+
+    private static void expandToken(String token, List<String> out) {
+        List<String> partial = new ArrayList<>();
+        partial.add("");
+        int i = 0;
+        while (i < token.length()) {
+            char c = token.charAt(i);
+            List<String> options = new ArrayList<>();
+            if (c == '[') {
+                int close = closing(token, i, ']');
+                parseRange(token.substring(i + 1, close), options);
+                i = close + 1;
+            } else if (c == '{') {
+                int close = closing(token, i, '}');
+                for (String option : token.substring(i + 1, close).split(",")) {
+                    options.add(option.trim());
+                }
+                i = close + 1;
+            } else {
+                options.add(String.valueOf(c));
+                i++;
+            }
+
+            if ((long) partial.size() * options.size() > MAX_DESIGNATIONS) {
+                throw new IllegalArgumentException("Pattern expands to too many designations: " + token);
+            }
+            List<String> next = new ArrayList<>(partial.size() * options.size());
+            for (String head : partial) {
+                for (String option : options) {
+                    next.add(head + option);
+                }
+            }
+            partial = next;
+        }
+        out.addAll(partial);
+    }
+
+    private static int closing(String token, int open, char close) {
+        int idx = token.indexOf(close, open);
+        if (idx < 0) {
+            throw new IllegalArgumentException("Unclosed '" + token.charAt(open) + "' in pattern: " + token);
+        }
+        return idx;
+    }
+
+    private static void parseRange(String body, List<String> out) {
+        int step = 1;
+        int slash = body.indexOf('/');
+        if (slash >= 0) {
+            step = Integer.parseInt(body.substring(slash + 1).trim());
+            body = body.substring(0, slash);
+        }
+        int dash = body.indexOf('-');
+        if (dash < 0 || step < 1) {
+            throw new IllegalArgumentException("Invalid range in pattern: [" + body + "]");
+        }
+        String lo = body.substring(0, dash).trim();
+        String hi = body.substring(dash + 1).trim();
+        int width = Math.max(lo.length(), hi.length());
+        int from = Integer.parseInt(lo);
+        int to = Integer.parseInt(hi);
+        for (int v = from; v <= to; v += step) {
+            String s = Integer.toString(v);
+            StringBuilder sb = new StringBuilder(width);
+            for (int k = s.length(); k < width; ++k) {
+                sb.append('0');
+            }
+            out.add(sb.append(s).toString());
+        }
+    }
+}
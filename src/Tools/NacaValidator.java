@@ -0,0 +1,124 @@
+package Tools;
+
+import java.util.BitSet;
+
+/**
+ * Validation rules for NACA designations, shared by the CAD task, the
+ * headless sweep generator and AirfoilSpec.parse().
+ *
+ * Supported families:
+ *   4-digit   - mptt: max camber m %, its position p/10, thickness tt %
+ *   5-digit   - 2p0tt: standard 5-series with design lift 0.3, p = 1..5
+ *   reflexed  - 2p1tt: reflexed 5-series, p = 2..5
+ *
+ * All checks work on the characters of the designation against a lookup
+ * table built once, so validating does not allocate and never throws,
+ * whatever the input.
+ */
+public final class NacaValidator {
+
+    /**
+     * Outcome of a validation; everything but VALID is a rejection reason.
+     */
+    public enum Reason {
+        VALID("valid"),
+        NULL("no designation"),
+        WRONG_LENGTH("expected 4 or 5 digits"),
+        NON_DIGIT("contains a non-digit character"),
+        UNKNOWN_5_SERIES_PREFIX("unsupported 5-series camber line"),
+        ZERO_THICKNESS("zero thickness"),
+        CAMBER_WITHOUT_POSITION("camber without a max camber position");
+
+        private final String _description;
+
+        Reason(String description) {
+            _description = description;
+        }
+
+        public String getDescription() {
+            return _description;
+        }
+    }
+
+    // valid 5-series prefixes, indexed by their 3-digit value
+    private static final boolean[] VALID_5_SERIES = new boolean[1000];
+
+    static {
+        for (int p = 1; p <= 5; ++p) {
+            VALID_5_SERIES[200 + 10 * p] = true;
+            if (p >= 2) {
+                VALID_5_SERIES[200 + 10 * p + 1] = true;
+            }
+        }
+    }
+
+    private NacaValidator() {
+    }
+
+    /**
+     * @param name - NACA designation to check
+     * @return true for a supported 4-digit, 5-digit or reflexed designation
+     */
+    public static boolean isValid(String name) {
+        return check(name) == Reason.VALID;
+    }
+
+    /**
+     * @param name - NACA designation to check, may be null or malformed
+     * @return VALID or the first rule the designation breaks
+     */
+    public static Reason check(String name) {
+        if (name == null) {
+            return Reason.NULL;
+        }
+        int len = name.length();
+        if (len != 4 && len != 5) {
+            return Reason.WRONG_LENGTH;
+        }
+        for (int i = 0; i < len; ++i) {
+            char c = name.charAt(i);
+            if (c < '0' || c > '9') {
+                return Reason.NON_DIGIT;
+            }
+        }
+
+        // last two digits are the thickness in both families
+        if (name.charAt(len - 2) == '0' && name.charAt(len - 1) == '0') {
+            return Reason.ZERO_THICKNESS;
+        }
+
+        // check 4-series names
+        if (len == 4) {
+            if (name.charAt(0) != '0' && name.charAt(1) == '0') {
+                return Reason.CAMBER_WITHOUT_POSITION;
+            }
+            return Reason.VALID;
+        }
+
+        // check 5-series names
+        int prefix = (name.charAt(0) - '0') * 100 + (name.charAt(1) - '0') * 10 + (name.charAt(2) - '0');
+        return VALID_5_SERIES[prefix] ? Reason.VALID : Reason.UNKNOWN_5_SERIES_PREFIX;
+    }
+
+    /**
+     * Validates many designations at once.
+     *
+     * @param names - designations to check, entries may be null
+     * @param reasons - optional output of the outcome per entry (null to skip),
+     * at least names.length long
+     * @return Bit i is set if names[i] is valid
+     */
+    public static BitSet validateAll(String[] names, Reason[] reasons) {
+        BitSet valid = new BitSet(names.length);
+        for (int i = 0; i < names.length; ++i) {
+            Reason reason = check(names[i]);
+            if (reason == Reason.VALID) {
+                valid.set(i);
+            }
+            if (reasons != null) {
+                reasons[i] = reason;
+            }
+        }
+        return valid;
+    }
+}
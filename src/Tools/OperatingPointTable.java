@@ -0,0 +1,486 @@
+package Tools;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Derived gas properties of a whole run matrix of operating points
+ * (Re, Ma, alpha, Tref), as the pre-processing task derives them for a
+ * single point. Free of STAR-CCM+; columns are primitive arrays filled in
+ * parallel chunks on the shared fork-join pool, small tables (up to one
+ * chunk) directly on the calling thread.
+ *
+ * For an ideal gas with molar mass M [kg/kmol], reference pressure Pref,
+ * reference length Lref, ratio of specific heats gamma and Prandtl number Pr:
+ *   Rgas  = 8.3144598 / (M/1000)
+ *   U     = Ma sqrt(gamma Rgas Tref),  Ux = U cos(alpha),  Uy = U sin(alpha)
+ *   rho   = Pref / (Rgas Tref)
+ *   mu    = rho U Lref / Re
+ *   cp    = gamma / (gamma - 1) Rgas
+ *   kappa = mu cp / Pr
+ * with alpha in degrees.
+ */
+public final class OperatingPointTable {
+
+    /** Universal gas constant in J/(mol K). */
+    public static final double UNIVERSAL_GAS_CONSTANT = 8.3144598;
+
+    private static final int LEAF_SIZE = 1024;
+    private static final int MAGIC = 0x4F505442; // "OPTB"
+    private static final int VERSION = 2;
+    private static final String[] COLUMNS = {"Re", "Ma", "alpha", "Tref", "U", "Ux", "Uy", "rho", "mu", "cp", "kappa"};
+
+    private final double _pressure;
+    private final double _length;
+    private final double _gamma;
+    private final double _prandtl;
+    private final double _molarMass;
+    private final double _gasConstant;
+    private final double _specificHeat;
+    // inputs, then derived properties, in the order of COLUMNS
+    private final double[][] _columns;
+
+    /**
+     * One operating point of a table.
+     */
+    public final class Row {
+
+        private final int _i;
+
+        private Row(int i) {
+            _i = i;
+        }
+
+        public int getIndex() {
+            return _i;
+        }
+
+        public double getReynolds() {
+            return _columns[0][_i];
+        }
+
+        public double getMach() {
+            return _columns[1][_i];
+        }
+
+        public double getAlpha() {
+            return _columns[2][_i];
+        }
+
+        public double getTemperature() {
+            return _columns[3][_i];
+        }
+
+        public double getVelocity() {
+            return _columns[4][_i];
+        }
+
+        public double getVelocityX() {
+            return _columns[5][_i];
+        }
+
+        public double getVelocityY() {
+            return _columns[6][_i];
+        }
+
+        public double getDensity() {
+            return _columns[7][_i];
+        }
+
+        public double getViscosity() {
+            return _columns[8][_i];
+        }
+
+        public double getSpecificHeat() {
+            return _columns[9][_i];
+        }
+
+        public double getThermalConductivity() {
+            return _columns[10][_i];
+        }
+    }
+
+    /**
+     * Full factorial run matrix, flattened with the temperature varying
+     * fastest and the Reynolds number slowest.
+     */
+    public static final class Grid {
+
+        private final double[] _re;
+        private final double[] _ma;
+        private final double[] _alpha;
+        private final double[] _tref;
+
+        public Grid(double[] Re, double[] Ma, double[] alpha, double[] Tref) {
+            int n = Re.length * Ma.length * alpha.length * Tref.length;
+            _re = new double[n];
+            _ma = new double[n];
+            _alpha = new double[n];
+            _tref = new double[n];
+            int i = 0;
+            for (double re : Re) {
+                for (double ma : Ma) {
+                    for (double a : alpha) {
+                        for (double t : Tref) {
+                            _re[i] = re;
+                            _ma[i] = ma;
+                            _alpha[i] = a;
+                            _tref[i] = t;
+                            i++;
+                        }
+                    }
+                }
+            }
+        }
+
+        public int size() {
+            return _re.length;
+        }
+
+        public double[] getReynolds() {
+            return _re;
+        }
+
+        public double[] getMach() {
+            return _ma;
+        }
+
+        public double[] getAlpha() {
+            return _alpha;
+        }
+
+        public double[] getTemperature() {
+            return _tref;
+        }
+    }
+
+    private OperatingPointTable(double Pref, double Lref, double gamma, double Pr, double molarMass,
+            double[][] columns) {
+        _pressure = Pref;
+        _length = Lref;
+        _gamma = gamma;
+        _prandtl = Pr;
+        _molarMass = molarMass;
+        _gasConstant = gasConstant(molarMass);
+        _specificHeat = gamma / (gamma - 1.0) * _gasConstant;
+        _columns = columns;
+    }
+
+    /**
+     * Computes the table of a run matrix.
+     *
+     * @see #compute(double[], double[], double[], double[], double, double, double, double, double)
+     */
+    public static OperatingPointTable compute(Grid grid, double Pref, double Lref, double gamma, double Pr,
+            double molarMass) {
+        return compute(grid.getReynolds(), grid.getMach(), grid.getAlpha(), grid.getTemperature(),
+                Pref, Lref, gamma, Pr, molarMass);
+    }
+
+    /**
+     * Computes the derived properties of every operating point in parallel.
+     *
+     * @param Re - Reynolds number per point
+     * @param Ma - Mach number per point
+     * @param alpha - angle of attack per point in degrees
+     * @param Tref - reference temperature per point
+     * @param Pref - reference pressure
+     * @param Lref - reference length
+     * @param gamma - ratio of specific heats
+     * @param Pr - Prandtl number
+     * @param molarMass - molar mass in kg/kmol
+     * @return The table, one row per operating point (input arrays are copied)
+     */
+    public static OperatingPointTable compute(double[] Re, double[] Ma, double[] alpha, double[] Tref,
+            double Pref, double Lref, double gamma, double Pr, double molarMass) {
+        int n = Re.length;
+        if (Ma.length != n || alpha.length != n || Tref.length != n) {
+            throw new IllegalArgumentException("All operating point arrays need " + n + " entries");
+        }
+        if (!(gamma > 1.0) || !(molarMass > 0.0)) {
+            throw new IllegalArgumentException("Expected gamma > 1 and a positive molar mass");
+        }
+        double Rgas = gasConstant(molarMass);
+        double cp = gamma / (gamma - 1.0) * Rgas;
+        double[][] columns = new double[COLUMNS.length][];
+        columns[0] = Re.clone();
+        columns[1] = Ma.clone();
+        columns[2] = alpha.clone();
+        columns[3] = Tref.clone();
+        for (int c = 4; c < COLUMNS.length; ++c) {
+            columns[c] = new double[n];
+        }
+        if (n > LEAF_SIZE) {
+            ComputePool.get().invoke(new ChunkTask(columns, Rgas, cp, Pref, Lref, gamma, Pr, 0, n));
+        } else {
+            fill(columns, Rgas, cp, Pref, Lref, gamma, Pr, 0, n);
+        }
+        return new OperatingPointTable(Pref, Lref, gamma, Pr, molarMass, columns);
+    }
+
+    /**
+     * Reads a table written by writeBinary().
+     *
+     * @return The table
+     * @throws IOException if the file is not an operating point table
+     */
+    public static OperatingPointTable read(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not an operating point table: " + file);
+            }
+            int n = in.readInt();
+            if (n < 0 || in.readInt() != COLUMNS.length) {
+                throw new IOException("Not an operating point table: " + file);
+            }
+            double Pref = in.readDouble();
+            double Lref = in.readDouble();
+            double gamma = in.readDouble();
+            double Pr = in.readDouble();
+            double molarMass = in.readDouble();
+            for (String name : COLUMNS) {
+                if (!name.equals(in.readUTF())) {
+                    throw new IOException("Unexpected columns in operating point table: " + file);
+                }
+            }
+            double[][] columns = new double[COLUMNS.length][n];
+            for (double[] column : columns) {
+                for (int i = 0; i < n; ++i) {
+                    column[i] = in.readDouble();
+                }
+            }
+            return new OperatingPointTable(Pref, Lref, gamma, Pr, molarMass, columns);
+        } catch (EOFException ex) {
+            throw new IOException("Truncated operating point table: " + file, ex);
+        }
+    }
+
+    public int size() {
+        return _columns[0].length;
+    }
+
+    /**
+     * @param i - row index
+     * @return View of one operating point
+     * @throws IndexOutOfBoundsException if there is no such row
+     */
+    public Row row(int i) {
+        if (i < 0 || i >= size()) {
+            throw new IndexOutOfBoundsException("Row " + i + " of " + size());
+        }
+        return new Row(i);
+    }
+
+    // inputs shared by all rows
+
+    public double getReferencePressure() {
+        return _pressure;
+    }
+
+    public double getReferenceLength() {
+        return _length;
+    }
+
+    public double getGamma() {
+        return _gamma;
+    }
+
+    public double getPrandtl() {
+        return _prandtl;
+    }
+
+    /**
+     * @return Molar mass in kg/kmol
+     */
+    public double getMolarMass() {
+        return _molarMass;
+    }
+
+    /**
+     * @return Specific gas constant, shared by all rows
+     */
+    public double getGasConstant() {
+        return _gasConstant;
+    }
+
+    /**
+     * @return Specific heat at constant pressure, shared by all rows
+     */
+    public double getSpecificHeat() {
+        return _specificHeat;
+    }
+
+    // columns, read-only
+
+    public double[] getReynolds() {
+        return _columns[0];
+    }
+
+    public double[] getMach() {
+        return _columns[1];
+    }
+
+    public double[] getAlpha() {
+        return _columns[2];
+    }
+
+    public double[] getTemperature() {
+        return _columns[3];
+    }
+
+    public double[] getVelocity() {
+        return _columns[4];
+    }
+
+    public double[] getVelocityX() {
+        return _columns[5];
+    }
+
+    public double[] getVelocityY() {
+        return _columns[6];
+    }
+
+    public double[] getDensity() {
+        return _columns[7];
+    }
+
+    public double[] getViscosity() {
+        return _columns[8];
+    }
+
+    public double[] getThermalConductivity() {
+        return _columns[10];
+    }
+
+    /**
+     * Writes the table as CSV with one row per operating point.
+     *
+     * @param out - destination, e.g. a Writer or StringBuilder
+     */
+    public void writeCsv(Appendable out) throws IOException {
+        for (int c = 0; c < COLUMNS.length; ++c) {
+            out.append(c == 0 ? "" : ",").append(COLUMNS[c]);
+        }
+        out.append('\n');
+        StringBuilder row = new StringBuilder(256);
+        for (int i = 0; i < size(); ++i) {
+            row.setLength(0);
+            for (int c = 0; c < COLUMNS.length; ++c) {
+                if (c > 0) {
+                    row.append(',');
+                }
+                row.append(_columns[c][i]);
+            }
+            row.append('\n');
+            out.append(row);
+        }
+    }
+
+    /**
+     * Writes the table to a binary file: magic, version, row and column
+     * counts, Pref, Lref, gamma, Pr and molar mass, the column names, then
+     * every column as big-endian doubles.
+     */
+    public void writeBinary(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(size());
+            out.writeInt(COLUMNS.length);
+            out.writeDouble(_pressure);
+            out.writeDouble(_length);
+            out.writeDouble(_gamma);
+            out.writeDouble(_prandtl);
+            out.writeDouble(_molarMass);
+            for (String name : COLUMNS) {
+                out.writeUTF(name);
+            }
+            for (double[] column : _columns) {
+                for (double value : column) {
+                    out.writeDouble(value);
+                }
+            }
+        }
+    }
+
+    // ===============================================
+    // helper routines
+    // ===============================================
+
+    private static double gasConstant(double molarMass) {
+        return UNIVERSAL_GAS_CONSTANT / (molarMass / 1000.0);
+    }
+
+    private static void fill(double[][] columns, double Rgas, double cp, double Pref, double Lref, double gamma,
+            double Pr, int from, int to) {
+        double[] re = columns[0];
+        double[] ma = columns[1];
+        double[] alpha = columns[2];
+        double[] tref = columns[3];
+        double[] u = columns[4];
+        double[] ux = columns[5];
+        double[] uy = columns[6];
+        double[] rho = columns[7];
+        double[] mu = columns[8];
+        double[] cps = columns[9];
+        double[] kappa = columns[10];
+        for (int i = from; i < to; ++i) {
+            double U = ma[i] * Math.sqrt(gamma * Rgas * tref[i]);
+            double a = Math.toRadians(alpha[i]);
+            double density = Pref / (Rgas * tref[i]);
+            double viscosity = density * U * Lref / re[i];
+            u[i] = U;
+            ux[i] = U * Math.cos(a);
+            uy[i] = U * Math.sin(a);
+            rho[i] = density;
+            mu[i] = viscosity;
+            cps[i] = cp;
+            kappa[i] = viscosity * cp / Pr;
+        }
+    }
+
+    private static final class ChunkTask extends RecursiveAction {
+
+        private final double[][] _columns;
+        private final double _Rgas;
+        private final double _cp;
+        private final double _Pref;
+        private final double _Lref;
+        private final double _gamma;
+        private final double _Pr;
+        private final int _from;
+        private final int _to;
+
+        ChunkTask(double[][] columns, double Rgas, double cp, double Pref, double Lref, double gamma, double Pr,
+                int from, int to) {
+            _columns = columns;
+            _Rgas = Rgas;
+            _cp = cp;
+            _Pref = Pref;
+            _Lref = Lref;
+            _gamma = gamma;
+            _Pr = Pr;
+            _from = from;
+            _to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (_to - _from > LEAF_SIZE) {
+                int mid = (_from + _to) >>> 1;
+                invokeAll(new ChunkTask(_columns, _Rgas, _cp, _Pref, _Lref, _gamma, _Pr, _from, mid),
+                        new ChunkTask(_columns, _Rgas, _cp, _Pref, _Lref, _gamma, _Pr, mid, _to));
+                return;
+            }
+            fill(_columns, _Rgas, _cp, _Pref, _Lref, _gamma, _Pr, _from, _to);
+        }
+    }
+}
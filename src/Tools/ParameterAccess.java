@@ -0,0 +1,188 @@
+package Tools;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import star.common.GlobalParameterBase;
+import star.common.GlobalParameterManager;
+import star.common.ScalarGlobalParameter;
+import star.common.Simulation;
+
+/**
+ * Name-indexed access to the scalar global parameters of a simulation. The
+ * parameters are indexed once, so reads and writes are map lookups instead
+ * of a GlobalParameterManager.getObject() call each, and a missing parameter
+ * is reported by a return value instead of an exception.
+ *
+ * The index reflects the simulation when it was built (or refreshed) plus
+ * the parameters created through this object. Create one per operation, or
+ * call refresh() after parameters were renamed or deleted elsewhere. For a
+ * single parameter, lookup() and set(Simulation, ...) resolve just that name
+ * instead of indexing all parameters.
+ */
+public final class ParameterAccess {
+
+    private final GlobalParameterManager _manager;
+    private final Map<String, ScalarGlobalParameter> _index = new HashMap<>();
+
+    /**
+     * @param sim - simulation whose global parameters are accessed
+     */
+    public ParameterAccess(Simulation sim) {
+        _manager = sim.get(GlobalParameterManager.class);
+        refresh();
+    }
+
+    /**
+     * Resolves one parameter by name, without building an index.
+     *
+     * @param sim - simulation
+     * @param name - parameter name
+     * @return The parameter, or null if there is no scalar parameter of that name
+     */
+    public static ScalarGlobalParameter lookup(Simulation sim, String name) {
+        return lookup(sim.get(GlobalParameterManager.class), name);
+    }
+
+    /**
+     * Sets one parameter, creating it if it does not exist, without building
+     * an index.
+     *
+     * @param sim - simulation
+     * @param name - parameter name
+     * @param value - new value
+     * @return Previous internal value, NaN if the parameter was created
+     */
+    public static double set(Simulation sim, String name, double value) {
+        GlobalParameterManager manager = sim.get(GlobalParameterManager.class);
+        double previous = Double.NaN;
+        ScalarGlobalParameter parameter = lookup(manager, name);
+        if (parameter == null) {
+            parameter = create(manager, name);
+        } else {
+            previous = parameter.getQuantity().getInternalValue();
+        }
+        parameter.getQuantity().setValue(value);
+        return previous;
+    }
+
+    /**
+     * Rebuilds the name index from the simulation.
+     */
+    public void refresh() {
+        _index.clear();
+        for (GlobalParameterBase parameter : _manager.getObjects()) {
+            if (parameter instanceof ScalarGlobalParameter) {
+                _index.put(parameter.getPresentationName(), (ScalarGlobalParameter) parameter);
+            }
+        }
+    }
+
+    public boolean has(String name) {
+        return _index.containsKey(name);
+    }
+
+    /**
+     * @return The parameter, or null if there is no scalar parameter of that name
+     */
+    public ScalarGlobalParameter find(String name) {
+        return _index.get(name);
+    }
+
+    /**
+     * @param name - parameter name
+     * @param fallback - value returned for a missing parameter
+     * @return Internal value of the parameter
+     */
+    public double get(String name, double fallback) {
+        ScalarGlobalParameter parameter = _index.get(name);
+        return parameter == null ? fallback : parameter.getQuantity().getInternalValue();
+    }
+
+    /**
+     * Sets a parameter, creating it if it does not exist.
+     *
+     * @param name - parameter name
+     * @param value - new value
+     * @return Previous internal value, NaN if the parameter was created
+     */
+    public double set(String name, double value) {
+        double previous = Double.NaN;
+        ScalarGlobalParameter parameter = _index.get(name);
+        if (parameter == null) {
+            parameter = create(_manager, name);
+            _index.put(name, parameter);
+        } else {
+            previous = parameter.getQuantity().getInternalValue();
+        }
+        parameter.getQuantity().setValue(value);
+        return previous;
+    }
+
+    /**
+     * Reads many parameters at once.
+     *
+     * @param names - parameter names
+     * @param fallback - value used for missing parameters
+     * @param values - output, at least names.length long
+     * @return Names of the missing parameters (empty if all were found)
+     */
+    public List<String> getAll(String[] names, double fallback, double[] values) {
+        List<String> missing = new ArrayList<>(0);
+        for (int i = 0; i < names.length; ++i) {
+            ScalarGlobalParameter parameter = _index.get(names[i]);
+            if (parameter == null) {
+                missing.add(names[i]);
+                values[i] = fallback;
+            } else {
+                values[i] = parameter.getQuantity().getInternalValue();
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Writes many parameters at once, creating the missing ones.
+     *
+     * @param names - parameter names
+     * @param values - new values, one per name
+     * @param previous - optional output of the previous values (NaN for
+     * created parameters), null to skip
+     * @return Number of parameters created
+     */
+    public int setAll(String[] names, double[] values, double[] previous) {
+        if (values.length < names.length) {
+            throw new IllegalArgumentException("Expected " + names.length + " values, got " + values.length);
+        }
+        int created = 0;
+        for (int i = 0; i < names.length; ++i) {
+            if (!_index.containsKey(names[i])) {
+                created++;
+            }
+            double old = set(names[i], values[i]);
+            if (previous != null) {
+                previous[i] = old;
+            }
+        }
+        return created;
+    }
+
+    // ===============================================
+    // helper routines
+    // ===============================================
+
+    private static ScalarGlobalParameter lookup(GlobalParameterManager manager, String name) {
+        if (!manager.has(name)) {
+            return null;
+        }
+        GlobalParameterBase parameter = manager.getObject(name);
+        return parameter instanceof ScalarGlobalParameter ? (ScalarGlobalParameter) parameter : null;
+    }
+
+    private static ScalarGlobalParameter create(GlobalParameterManager manager, String name) {
+        ScalarGlobalParameter parameter = manager.createGlobalParameter(ScalarGlobalParameter.class, "Scalar");
+        parameter.setPresentationName(name);
+        return parameter;
+    }
+}
@@ -0,0 +1,155 @@
+package Tools;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The pre-processing workflows of the assistant (aero parameters and gas
+ * material properties) against a SimulationFacade, so they run in a
+ * STAR-CCM+ session and headless alike. Messages go to the facade.
+ */
+public class PreProcessingWorkflow {
+
+    /** Non-dimensional numbers and reference values the workflows read. */
+    public static final String[] AERO_PARAMETERS = {"Re", "Ma", "Pr", "gamma", "Tref", "Lref"};
+    /** Defaults of AERO_PARAMETERS. */
+    public static final double[] AERO_DEFAULTS = {1.0e6, 0.7, 0.72, 1.4, 300.0, 1.0};
+
+    private final SimulationFacade _sim;
+
+    public PreProcessingWorkflow(SimulationFacade sim) {
+        _sim = sim;
+    }
+
+    /**
+     * Creates the aero parameters with their defaults, in one pass.
+     */
+    public void createAllAeroParameters() {
+        setParameters(AERO_PARAMETERS, AERO_DEFAULTS);
+    }
+
+    /**
+     * Updates the material properties of every ideal gas continuum from the
+     * aero parameters, each with its own reference pressure and molar mass.
+     * U_ref and rho_ref come from the first continuum; with several, every
+     * continuum also gets U_ref_name and rho_ref_name.
+     *
+     * @return Names of the updated continua
+     */
+    public List<String> setMaterialProperties() {
+        List<String> gasContinua = _sim.getGasContinua();
+        if (gasContinua.isEmpty()) {
+            _sim.println("  *** No ideal gas continua present... no action taken ***  ");
+            return new ArrayList<>();
+        }
+
+        // get non-dimensional numbers and reference values in one pass
+        double[] vals = new double[AERO_PARAMETERS.length];
+        for (String missing : _sim.getParameters(AERO_PARAMETERS, 1.0, vals)) {
+            _sim.println("  *** Could not find parameter " + missing + "... using value of 1.0 ***  ");
+        }
+        return updateContinua(gasContinua, vals);
+    }
+
+    /**
+     * Applies one operating point of a run matrix: sets the aero parameters
+     * to the point and updates the material properties of every ideal gas
+     * continuum as setMaterialProperties() does. The properties are derived
+     * again for each continuum's own reference pressure and molar mass, so
+     * the table may have been computed for a different gas.
+     *
+     * @param table - run matrix, e.g. from OperatingPointTable.read()
+     * @param i - row of the operating point
+     * @return Names of the updated continua
+     * @throws IndexOutOfBoundsException if the table has no such row
+     */
+    public List<String> applyOperatingPoint(OperatingPointTable table, int i) {
+        OperatingPointTable.Row row = table.row(i);
+        double[] vals = {row.getReynolds(), row.getMach(), table.getPrandtl(), table.getGamma(),
+            row.getTemperature(), table.getReferenceLength()};
+        _sim.println("  *** Applying operating point " + i + " of " + table.size() + " ***  ");
+        setParameters(AERO_PARAMETERS, vals);
+
+        List<String> gasContinua = _sim.getGasContinua();
+        if (gasContinua.isEmpty()) {
+            _sim.println("  *** No ideal gas continua present... no action taken ***  ");
+            return new ArrayList<>();
+        }
+        return updateContinua(gasContinua, vals);
+    }
+
+    // ===============================================
+    // helper routines
+    // ===============================================
+
+    // updates every gas continuum with its own reference pressure, then sets
+    // the reference parameters in one pass
+    private List<String> updateContinua(List<String> gasContinua, double[] vals) {
+        List<String> updated = new ArrayList<>();
+        List<String> refNames = new ArrayList<>();
+        List<Double> refVals = new ArrayList<>();
+        for (String continuum : gasContinua) {
+            if (gasContinua.size() > 1) {
+                _sim.println("  *** Updating continuum " + continuum + " ***  ");
+            }
+            double[] refs;
+            try {
+                refs = setGasProperties(continuum, vals);
+            } catch (IllegalArgumentException ex) {
+                _sim.println("  *** " + ex.getMessage() + "... no action taken ***  ");
+                continue;
+            }
+
+            if (updated.isEmpty()) {
+                refNames.add("U_ref");
+                refVals.add(refs[0]);
+                refNames.add("rho_ref");
+                refVals.add(refs[1]);
+            }
+            if (gasContinua.size() > 1) {
+                String suffix = "_" + continuum.replaceAll("\\W", "_");
+                refNames.add("U_ref" + suffix);
+                refVals.add(refs[0]);
+                refNames.add("rho_ref" + suffix);
+                refVals.add(refs[1]);
+            }
+            updated.add(continuum);
+        }
+
+        // create reference parameters in one pass
+        String[] names = refNames.toArray(new String[refNames.size()]);
+        double[] values = new double[names.length];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = refVals.get(i);
+        }
+        setParameters(names, values);
+
+        return updated;
+    }
+
+    // sets the parameters, reporting the ones that already existed
+    private void setParameters(String[] names, double[] values) {
+        double[] oldVals = new double[names.length];
+        _sim.setParameters(names, values, oldVals);
+        for (int i = 0; i < names.length; ++i) {
+            if (!Double.isNaN(oldVals[i])) {
+                _sim.println("  *** Parameter " + names[i] + " already exists. Old value = " + oldVals[i] + " ***  ");
+            }
+        }
+    }
+
+    // returns U_ref and rho_ref of the continuum
+    private double[] setGasProperties(String continuum, double[] vals) {
+        double Pref = _sim.getReferencePressure(continuum);
+        double molarMass = _sim.getMolarMass(continuum);
+
+        // derive the properties as a one-row operating point table (computed inline)
+        OperatingPointTable table = OperatingPointTable.compute(new double[] {vals[0]}, new double[] {vals[1]},
+                new double[] {0.0}, new double[] {vals[4]}, Pref, vals[5], vals[3], vals[2], molarMass);
+        OperatingPointTable.Row row = table.row(0);
+        _sim.println("  *** Using Rgas = " + table.getGasConstant() + " assuming molar mass in units of kg/kmol ***  ");
+
+        _sim.setGasProperties(continuum, row.getViscosity(), row.getSpecificHeat(), row.getThermalConductivity());
+        return new double[] {row.getVelocity(), row.getDensity()};
+    }
+}
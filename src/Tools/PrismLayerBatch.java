@@ -0,0 +1,270 @@
+package Tools;
+
+import java.io.IOException;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Batch evaluation of the Prism Layer Calculator relations over whole input
+ * tables, e.g. every layer count from 5 to 60 against a set of total
+ * thicknesses. Inputs and outputs are primitive arrays with one entry per
+ * case; cases are solved in parallel chunks on the shared fork-join pool,
+ * with one solver Result per chunk and no allocation per case. HT inverses
+ * are looked up in HyperbolicTangentTable.
+ *
+ * The two outputs depend on the distribution mode, as in the calculator:
+ *   MODE_STRETCH_FACTOR  - given stretching:       near-wall thickness, thickness ratio
+ *   MODE_WALL_THICKNESS  - given near-wall:        stretching, thickness ratio
+ *   MODE_THICKNESS_RATIO - given thickness ratio:  stretching, near-wall thickness
+ * Cases without a converged solution get NaN outputs.
+ */
+public final class PrismLayerBatch {
+
+    private static final int LEAF_SIZE = 512;
+
+    private PrismLayerBatch() {
+    }
+
+    /**
+     * Full factorial input table, flattened with the given value varying
+     * fastest and the layer count slowest.
+     */
+    public static final class Grid {
+
+        private final int[] _layers;
+        private final double[] _totalThick;
+        private final double[] _given;
+
+        /**
+         * @param layers - layer counts
+         * @param totalThick - total prism layer thicknesses
+         * @param given - values of the given quantity (stretching, near-wall thickness or ratio)
+         */
+        public Grid(int[] layers, double[] totalThick, double[] given) {
+            int n = layers.length * totalThick.length * given.length;
+            _layers = new int[n];
+            _totalThick = new double[n];
+            _given = new double[n];
+            int i = 0;
+            for (int N : layers) {
+                for (double T : totalThick) {
+                    for (double g : given) {
+                        _layers[i] = N;
+                        _totalThick[i] = T;
+                        _given[i] = g;
+                        i++;
+                    }
+                }
+            }
+        }
+
+        public int size() {
+            return _layers.length;
+        }
+
+        public int[] getLayers() {
+            return _layers;
+        }
+
+        public double[] getTotalThickness() {
+            return _totalThick;
+        }
+
+        public double[] getGiven() {
+            return _given;
+        }
+    }
+
+    /**
+     * Solves every case for given stretching parameters.
+     *
+     * @return Number of cases without a converged solution
+     */
+    public static int fromStretchingRatio(int function, int[] N, double[] totalThick, double[] stretch,
+            double[] nearWallOut, double[] ratioOut) {
+        return evaluate(function, PrismLayerMath.MODE_STRETCH_FACTOR, N, totalThick, stretch, nearWallOut, ratioOut);
+    }
+
+    /**
+     * Solves every case for given near-wall thicknesses.
+     *
+     * @return Number of cases without a converged solution
+     */
+    public static int fromNearWallThickness(int function, int[] N, double[] totalThick, double[] nearWall,
+            double[] stretchOut, double[] ratioOut) {
+        return evaluate(function, PrismLayerMath.MODE_WALL_THICKNESS, N, totalThick, nearWall, stretchOut, ratioOut);
+    }
+
+    /**
+     * Solves every case for given thickness ratios.
+     *
+     * @return Number of cases without a converged solution
+     */
+    public static int fromThicknessRatio(int function, int[] N, double[] totalThick, double[] thicknessRatio,
+            double[] stretchOut, double[] nearWallOut) {
+        return evaluate(function, PrismLayerMath.MODE_THICKNESS_RATIO, N, totalThick, thicknessRatio, stretchOut, nearWallOut);
+    }
+
+    /**
+     * Solves every case of a table in parallel.
+     *
+     * @param function - PrismLayerMath.GP or PrismLayerMath.HT
+     * @param mode - PrismLayerMath.MODE_* index of the given quantity
+     * @param N - number of layers per case
+     * @param totalThick - total prism layer thickness per case
+     * @param given - given quantity per case
+     * @param out0 - first output per case (see class comment)
+     * @param out1 - second output per case (see class comment)
+     * @return Number of cases without a converged solution
+     */
+    public static int evaluate(int function, int mode, int[] N, double[] totalThick, double[] given,
+            double[] out0, double[] out1) {
+        int n = N.length;
+        if (totalThick.length < n || given.length < n || out0.length < n || out1.length < n) {
+            throw new IllegalArgumentException("All arrays need at least " + n + " entries");
+        }
+        if (n == 0) {
+            return 0;
+        }
+        return ComputePool.get().invoke(new ChunkTask(function, mode, N, totalThick, given, out0, out1, 0, n));
+    }
+
+    /**
+     * Writes a solved table as CSV with one row per case.
+     *
+     * @param out - destination, e.g. a Writer or StringBuilder
+     * @param function - PrismLayerMath.GP or PrismLayerMath.HT
+     * @param mode - PrismLayerMath.MODE_* index of the given quantity
+     * @param N - number of layers per case
+     * @param totalThick - total prism layer thickness per case
+     * @param given - given quantity per case
+     * @param out0 - first output per case
+     * @param out1 - second output per case
+     */
+    public static void writeCsv(Appendable out, int function, int mode, int[] N, double[] totalThick,
+            double[] given, double[] out0, double[] out1) throws IOException {
+        String name = function == PrismLayerMath.GP ? "GP" : "HT";
+        out.append("function,layers,totalThickness,stretching,nearWallThickness,thicknessRatio\n");
+        StringBuilder row = new StringBuilder(128);
+        for (int i = 0; i < N.length; ++i) {
+            double stretch, nearWall, ratio;
+            switch (mode) {
+                case PrismLayerMath.MODE_WALL_THICKNESS:
+                    stretch = out0[i];
+                    nearWall = given[i];
+                    ratio = out1[i];
+                    break;
+                case PrismLayerMath.MODE_THICKNESS_RATIO:
+                    stretch = out0[i];
+                    nearWall = out1[i];
+                    ratio = given[i];
+                    break;
+                default:
+                    stretch = given[i];
+                    nearWall = out0[i];
+                    ratio = out1[i];
+                    break;
+            }
+            row.setLength(0);
+            row.append(name).append(',').append(N[i]).append(',').append(totalThick[i]).append(',')
+                    .append(stretch).append(',').append(nearWall).append(',').append(ratio).append('\n');
+            out.append(row);
+        }
+    }
+
+    // ===============================================
+    // helper routines
+    // ===============================================
+
+    private static final class ChunkTask extends RecursiveTask<Integer> {
+
+        private final int _function;
+        private final int _mode;
+        private final int[] _N;
+        private final double[] _totalThick;
+        private final double[] _given;
+        private final double[] _out0;
+        private final double[] _out1;
+        private final int _from;
+        private final int _to;
+
+        ChunkTask(int function, int mode, int[] N, double[] totalThick, double[] given,
+                double[] out0, double[] out1, int from, int to) {
+            _function = function;
+            _mode = mode;
+            _N = N;
+            _totalThick = totalThick;
+            _given = given;
+            _out0 = out0;
+            _out1 = out1;
+            _from = from;
+            _to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (_to - _from > LEAF_SIZE) {
+                int mid = (_from + _to) >>> 1;
+                ChunkTask left = new ChunkTask(_function, _mode, _N, _totalThick, _given, _out0, _out1, _from, mid);
+                ChunkTask right = new ChunkTask(_function, _mode, _N, _totalThick, _given, _out0, _out1, mid, _to);
+                left.fork();
+                int failed = right.compute();
+                return failed + left.join();
+            }
+
+            PrismLayerSolver.Result result = new PrismLayerSolver.Result();
+            double[] pair = new double[2];
+            int failed = 0;
+            for (int i = _from; i < _to; ++i) {
+                if (!solveCase(_function, _mode, _N[i], _totalThick[i], _given[i], result, pair)) {
+                    failed++;
+                }
+                _out0[i] = pair[0];
+                _out1[i] = pair[1];
+            }
+            return failed;
+        }
+    }
+
+    /**
+     * Solves a single case, as the calculator does for one button press.
+     *
+     * @param result - scratch solver result
+     * @param out - receives the two outputs (see class comment)
+     * @return false if an output is NaN
+     */
+    static boolean solveCase(int function, int mode, int N, double T, double g,
+            PrismLayerSolver.Result result, double[] out) {
+        boolean gp = function == PrismLayerMath.GP;
+        double o0, o1;
+        switch (mode) {
+            case PrismLayerMath.MODE_WALL_THICKNESS:
+                if (gp) {
+                    PrismLayerSolver.getDefault().stretchingFromNearWallGP(N, T, g, result);
+                    o0 = result.isConverged() ? result.getValue() : Double.NaN;
+                } else {
+                    o0 = HyperbolicTangentTable.stretchingFromNearWallThickness(N, T, g);
+                }
+                o1 = gp ? PrismLayerMath.calcThicknessRatioFromStretchingRatioGP(N, o0)
+                        : PrismLayerMath.calcThicknessRatioFromStretchingRatioHT(N, o0);
+                break;
+            case PrismLayerMath.MODE_THICKNESS_RATIO:
+                if (gp) {
+                    o0 = PrismLayerMath.calcStretchingRatioFromThicknessRatioGP(N, g);
+                } else {
+                    o0 = HyperbolicTangentTable.stretchingFromThicknessRatio(N, g);
+                }
+                o1 = gp ? PrismLayerMath.calcNearWallThicknessFromStretchingGP(N, T, o0)
+                        : PrismLayerMath.calcNearWallThicknessFromStretchingHT(N, T, o0);
+                break;
+            default:
+                o0 = gp ? PrismLayerMath.calcNearWallThicknessFromStretchingGP(N, T, g)
+                        : PrismLayerMath.calcNearWallThicknessFromStretchingHT(N, T, g);
+                o1 = gp ? PrismLayerMath.calcThicknessRatioFromStretchingRatioGP(N, g)
+                        : PrismLayerMath.calcThicknessRatioFromStretchingRatioHT(N, g);
+                break;
+        }
+        out[0] = o0;
+        out[1] = o1;
+        return !Double.isNaN(o0) && !Double.isNaN(o1);
+    }
+}
@@ -1,5 +1,7 @@
 package Tools;
 
+import java.io.File;
+import java.io.IOException;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import star.common.Simulation;
@@ -15,8 +17,16 @@ import star.common.Simulation;
  */
 public class PrismLayerCalculator extends javax.swing.JFrame {
 
+    /** Quiet time after the last edit before the values are recalculated. */
+    private static final int LIVE_UPDATE_DELAY = 400;
+
     Simulation _sim;
     boolean _debug = false;
+    SolveCache _cache = SolveCache.getDefault();
+    PrismLayerSolver _solver = PrismLayerSolver.getDefault();
+    PrismLayerSolver.Result _solution = new PrismLayerSolver.Result(); // worker thread only
+    CalculatorExecutor _executor = new CalculatorExecutor("PrismLayerCalc");
+    CalculatorExecutor.Debouncer _liveUpdate;
 
     /**
      * Constructor for the prism layer calculator.
@@ -26,7 +36,23 @@ public class PrismLayerCalculator extends javax.swing.JFrame {
     public PrismLayerCalculator(Simulation sim) {
         _sim = sim;
         initComponents();
+        initLiveUpdate();
         printUsageMessage();
+        loadCache();
+    }
+
+    /**
+     * Recalculates the dependent values in the background shortly after the
+     * user stops editing an input field.
+     */
+    private void initLiveUpdate() {
+        _liveUpdate = new CalculatorExecutor.Debouncer(LIVE_UPDATE_DELAY, new java.awt.event.ActionListener() {
+            @Override
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                calculate(false);
+            }
+        });
+        _liveUpdate.attach(numLayersBox, totalThicknessBox, stretchParameterBox, nearWallBox, thicknessRatioBox);
     }
 
     private void printUsageMessage() {
@@ -38,6 +64,30 @@ public class PrismLayerCalculator extends javax.swing.JFrame {
 
     }
 
+    private File getCacheFile() {
+        return new File(_sim.getSessionDir(), SolveCache.FILE_NAME);
+    }
+
+    private void loadCache() {
+        File file = getCacheFile();
+        if (_cache.size() == 0 && file.isFile()) {
+            try {
+                debug("Loaded " + _cache.load(file) + " cached results from " + file.getPath());
+            } catch (IOException ex) {
+                log("Could not read cached results: " + ex.getMessage());
+            }
+        }
+    }
+
+    private void saveCache() {
+        try {
+            _cache.save(getCacheFile());
+            debug("Saved " + _cache.size() + " cached results (hit rate " + String.format("%.1f%%", 100.0 * _cache.getHitRate()) + ")");
+        } catch (IOException ex) {
+            log("Could not save cached results: " + ex.getMessage());
+        }
+    }
+
     private void log(String msg) {
         _sim.println("[PrismLayerCalc]: " + msg);
     }
@@ -48,6 +98,22 @@ public class PrismLayerCalculator extends javax.swing.JFrame {
         }
     }
 
+    /**
+     * Logs the outcome of an inverse solve and returns its value; nothing is
+     * logged for a calculation that was superseded during the solve.
+     */
+    private double checkSolution(String quantity, CalculatorExecutor.Progress progress) {
+        if (progress.isCancelled()) {
+            return _solution.getValue();
+        }
+        if (!_solution.isConverged()) {
+            log("No converged " + quantity + " for these inputs (" + _solution + ")");
+        } else {
+            debug("Solved " + quantity + ": " + _solution);
+        }
+        return _solution.getValue();
+    }
+
     private int getStretchingFunc() {
         return stretchFuncCombo.getSelectedIndex();
     }
@@ -77,11 +143,31 @@ public class PrismLayerCalculator extends javax.swing.JFrame {
     }
 
     private void updateTextValues(int Layers, double[] other) {
+        _liveUpdate.setEnabled(false);
         numLayersBox.setText(Integer.toString(Layers));
         totalThicknessBox.setText(String.format("%.3f", other[0]));
         stretchParameterBox.setText(String.format("%.3f", other[1]));
         nearWallBox.setText(String.format("%.6f", other[2]));
         thicknessRatioBox.setText(String.format("%.3f", other[3]));
+        _liveUpdate.setEnabled(true);
+    }
+
+    /**
+     * Writes only the two calculated values, leaving the fields the user is
+     * editing untouched.
+     */
+    private void updateDependentValues(int distMode, double[] other) {
+        _liveUpdate.setEnabled(false);
+        if (distMode != 0) {
+            stretchParameterBox.setText(String.format("%.3f", other[1]));
+        }
+        if (distMode != 1) {
+            nearWallBox.setText(String.format("%.6f", other[2]));
+        }
+        if (distMode != 2) {
+            thicknessRatioBox.setText(String.format("%.3f", other[3]));
+        }
+        _liveUpdate.setEnabled(true);
     }
 
     /**
@@ -99,13 +185,13 @@ public class PrismLayerCalculator extends javax.swing.JFrame {
         switch (mode) {
             case 0: // GP
                 debug("Calculating based on Stretching Ratio using Geometric Progression");
-                vals[0] = calcNearWallThicknessFromStretchingGP(N, totalThick, stretch);
-                vals[1] = calcThicknessRatioFromStretchingRatioGP(N, stretch);
+                vals[0] = PrismLayerMath.calcNearWallThicknessFromStretchingGP(N, totalThick, stretch);
+                vals[1] = PrismLayerMath.calcThicknessRatioFromStretchingRatioGP(N, stretch);
                 break;
             case 1: //HT
                 debug("Calculating based on Stretching Ratio using Hyperbolic Tangent");
-                vals[0] = calcNearWallThicknessFromStretchingHT(N, totalThick, stretch);
-                vals[1] = calcThicknessRatioFromStretchingRatioHT(N, stretch);
+                vals[0] = PrismLayerMath.calcNearWallThicknessFromStretchingHT(N, totalThick, stretch);
+                vals[1] = PrismLayerMath.calcThicknessRatioFromStretchingRatioHT(N, stretch);
                 break;
         }
         return vals;
@@ -118,21 +204,24 @@ public class PrismLayerCalculator extends javax.swing.JFrame {
      * @param totalThick - Total prism layer thickness
      * @param nearWall - Near-wall layer thickness
      * @param mode - specifies the functional form of the stretching
+     * @param progress - cancellation state of the calculation
      * 
      * @return Two values specifying the stretching ratio and the thickness ratio
      */
-    private double[] calcFromNearWallThickness(int N, double totalThick, double nearWall, int mode) {
+    private double[] calcFromNearWallThickness(int N, double totalThick, double nearWall, int mode, CalculatorExecutor.Progress progress) {
         double[] vals = {0.0, 0.0};
         switch (mode) {
             case 0: // GP
                 debug("Calculating based on Near-Wall Thickness using Geometric Progression");
-                vals[0] = calcStretchingRatioFromNearWallThicknessGP(N, totalThick, nearWall);
-                vals[1] = calcThicknessRatioFromStretchingRatioGP(N, vals[0]);
+                _solver.stretchingFromNearWallGP(N, totalThick, nearWall, _solution);
+                vals[0] = checkSolution("stretching ratio", progress);
+                vals[1] = PrismLayerMath.calcThicknessRatioFromStretchingRatioGP(N, vals[0]);
                 break;
             case 1: //HT
                 debug("Calculating based on Near-Wall Thickness using Hyperbolic Tangent");
-                vals[0] = calcStretchingRatioFromNearWallThicknessHT(N, totalThick, nearWall);
-                vals[1] = calcThicknessRatioFromStretchingRatioHT(N, vals[0]);
+                _solver.stretchingFromNearWallHT(N, totalThick, nearWall, _solution);
+                vals[0] = checkSolution("stretching factor", progress);
+                vals[1] = PrismLayerMath.calcThicknessRatioFromStretchingRatioHT(N, vals[0]);
                 break;
         }
         return vals;
@@ -146,96 +235,61 @@ public class PrismLayerCalculator extends javax.swing.JFrame {
      * @param totalThick - Total prism layer thickness
      * @param thicknessRatio - ratio of thickness between the first and last prism layers
      * @param mode - specifies the functional form of the stretching
+     * @param progress - cancellation state of the calculation
      * 
      * @return Two values specifying the stretching ratio and the near-wall thickness
      */
-    private double[] calcFromThicknessRatio(int N, double totalThick, double thicknessRatio, int mode) {
+    private double[] calcFromThicknessRatio(int N, double totalThick, double thicknessRatio, int mode, CalculatorExecutor.Progress progress) {
         double[] vals = {0.0, 0.0};
         switch (mode) {
             case 0: // GP
                 debug("Calculating based on Thickness Ratio using Geometric Progression");
-                vals[0] = calcStretchingRatioFromThicknessRatioGP(N, thicknessRatio);
-                vals[1] = calcNearWallThicknessFromStretchingGP(N, totalThick, vals[0]);
+                vals[0] = PrismLayerMath.calcStretchingRatioFromThicknessRatioGP(N, thicknessRatio);
+                vals[1] = PrismLayerMath.calcNearWallThicknessFromStretchingGP(N, totalThick, vals[0]);
                 break;
             case 1: //HT
                 debug("Calculating based on Thickness Ratio using Hyperbolic Tangent");
-                vals[0] = calcStretchingRatioFromThicknessRatioHT(N, thicknessRatio);
-                vals[1] = calcNearWallThicknessFromStretchingHT(N, totalThick, vals[0]);
+                _solver.stretchingFromThicknessRatioHT(N, thicknessRatio, _solution);
+                vals[0] = checkSolution("stretching factor", progress);
+                vals[1] = PrismLayerMath.calcNearWallThicknessFromStretchingHT(N, totalThick, vals[0]);
                 break;
         }
         return vals;
 
     }
     
-    private double calcNearWallThicknessFromStretchingGP(int N, double totalThick, double stretch) {
-        double Nd = (double) N;
-        return totalThick * (stretch - 1.0) / (Math.pow(stretch, Nd) - 1.0);
-    }
-
-    private double calcStretchingRatioFromNearWallThicknessGP(int N, double totalThick, double nearWall) {
-        double Nd = (double) N;
-        double fac = 1.0 / Nd;
-        double stretch = 1.5;
-        for (int i = 0; i < 20; i++) {
-            stretch = Math.pow((totalThick / nearWall) * (stretch - 1.0) + 1.0, fac);
-        }
-        return stretch;
-    }
-
-    private double calcStretchingRatioFromThicknessRatioGP(int N, double thicknessRatio) {
-        double Nd = (double) N;
-        return Math.exp(Math.log(thicknessRatio) / (Nd - 1.0));
-    }
-
-    private double calcThicknessRatioFromStretchingRatioGP(int N, double stretch) {
-        double Nd = (double) N;
-        return Math.pow(stretch, Nd - 1.0);
-    }
-
-    private double calcNearWallThicknessFromStretchingHT(int N, double totalThick, double stretch) {
-        double Nd = (double) N;
-        double fac = 1.0 / Nd - 1.0;
-        return totalThick * (1.0 + Math.tanh(stretch * fac) / Math.tanh(stretch));
-    }
-
-    private double calcStretchingRatioFromNearWallThicknessHT(int N, double totalThick, double nearWall) {
-        double Nd = (double) N;
-        double fac = 1.0 / Nd - 1.0;
-        double Fs = 1.0;
-        double s1 = nearWall / totalThick;
-        for (int i = 0; i < 50; i++) {
-            Fs = atanh((s1 - 1.0) * Math.tanh(Fs)) / fac;
+    /**
+     * Answers from the result cache when the same (normalized) question was
+     * asked before, otherwise calculates and remembers the answer.
+     * 
+     * @param distMode - distribution mode index
+     * @param N - Number of prism layers
+     * @param totalThick - Total prism layer thickness
+     * @param given - value of the quantity the distribution mode specifies
+     * @param mode - specifies the functional form of the stretching
+     * @param progress - cancellation state of the calculation
+     * 
+     * @return The two dependent values, as the calcFrom* wrappers
+     */
+    private double[] cachedCalc(int distMode, int N, double totalThick, double given, int mode, CalculatorExecutor.Progress progress) {
+        double[] vals = {0.0, 0.0};
+        if (_cache.getPrism(mode, distMode, N, totalThick, given, vals)) {
+            debug("Using cached result");
+            return vals;
         }
-        return Fs;
-    }
-
-    private double calcStretchingRatioFromThicknessRatioHT(int N, double thicknessRatio) {
-        double omega = 0.05; // under-relaxation for bad initial guesses
-        double Fs_old = 1.0;
-        double Fs_new = 2.0;
-        double Gold = calcThicknessRatioFromStretchingRatioHT(N, Fs_old) - thicknessRatio;
-        double Gnew = calcThicknessRatioFromStretchingRatioHT(N, Fs_new) - thicknessRatio;
-        double slope;
-        for (int i = 0; i < 50; i++) {
-            slope = (Fs_new - Fs_old) / (Gnew - Gold);
-            Fs_old = Fs_new;
-            Gold = Gnew;
-            Fs_new = Fs_new + slope * (0.0 - Gnew) * omega;
-            Gnew = calcThicknessRatioFromStretchingRatioHT(N, Fs_new) - thicknessRatio;
-            omega += 0.01; // slowly increase to help convergence
+        switch (distMode) {
+            case 0: // Stretch Factor
+                vals = calcFromStretchingRatio(N, totalThick, given, mode);
+                break;
+            case 1: // Near Wall Thickness
+                vals = calcFromNearWallThickness(N, totalThick, given, mode, progress);
+                break;
+            case 2: // Thickness Ratio
+                vals = calcFromThicknessRatio(N, totalThick, given, mode, progress);
+                break;
         }
-        return Fs_new;
-    }
-
-    private double calcThicknessRatioFromStretchingRatioHT(int N, double Fs) {
-        double Nd = (double) N;
-        double s1 = 1.0 + Math.tanh(Fs * (1.0 / Nd - 1.0)) / Math.tanh(Fs);
-        double sNm1 = 1.0 + Math.tanh(-Fs / Nd) / Math.tanh(Fs);
-        return (1.0 - sNm1) / s1;
-    }
-
-    private double atanh(double x) {
-        return 0.5 * Math.log((1.0 + x) / (1.0 - x));
+        _cache.putPrism(mode, distMode, N, totalThick, given, vals[0], vals[1]);
+        return vals;
     }
 
     // <editor-fold defaultstate="collapsed" desc="GUI Code">                          
@@ -273,6 +327,11 @@ public class PrismLayerCalculator extends javax.swing.JFrame {
         calculateButton = new javax.swing.JButton();
 
         setDefaultCloseOperation(javax.swing.WindowConstants.DISPOSE_ON_CLOSE);
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            public void windowClosing(java.awt.event.WindowEvent evt) {
+                formWindowClosing(evt);
+            }
+        });
         setLocationByPlatform(true);
         setMinimumSize(new java.awt.Dimension(445, 350));
 
@@ -303,6 +362,11 @@ public class PrismLayerCalculator extends javax.swing.JFrame {
         stretchFuncCombo.setFont(new java.awt.Font("SansSerif", 0, 14)); // NOI18N
         stretchFuncCombo.setModel(new javax.swing.DefaultComboBoxModel(new String[]{"Geometric Progression", "Hyperbolic Tangent"}));
         stretchFuncCombo.setSelectedIndex(0);
+        stretchFuncCombo.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                stretchFuncComboActionPerformed(evt);
+            }
+        });
 
         distModeCombo.setFont(new java.awt.Font("SansSerif", 0, 14)); // NOI18N
         distModeCombo.setModel(new javax.swing.DefaultComboBoxModel(new String[]{"Stretch Factor", "Wall Thickness", "Thickness Ratio"}));
@@ -437,40 +501,106 @@ public class PrismLayerCalculator extends javax.swing.JFrame {
     }// </editor-fold>                                                                
 
     private void closeButtonActionPerformed(java.awt.event.ActionEvent evt) {
+        shutdown();
         setVisible(false);
     }
 
+    private void formWindowClosing(java.awt.event.WindowEvent evt) {
+        shutdown();
+    }
+
+    /**
+     * Stops live updates, saves the cache on the background executor and
+     * lets it exit, for the Close button and the window's close box alike.
+     */
+    private void shutdown() {
+        _liveUpdate.stop();
+        _executor.cancel();
+        _executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                saveCache();
+            }
+        });
+        _executor.shutdown();
+    }
+
     private void calculateButtonActionPerformed(java.awt.event.ActionEvent evt) {
-        int distMode = getDistributionMode();
-        int stretchFun = getStretchingFunc();
-
-        int N = getNumLayers();
-        double[] vals = {1.0, 1.0, 1.0, 1.0};
-        vals[0] = getTotalThickness();
-        vals[1] = getStretchingValue();
-        vals[2] = getNearWallThickness();
-        vals[3] = getThicknessRatioValue();
-
-        // update other two values
-        double[] tmpVals;
-        switch (distMode) {
-            case 0: // Stretch Factor
-                tmpVals = calcFromStretchingRatio(N, vals[0], vals[1], stretchFun);
-                vals[2] = tmpVals[0];
-                vals[3] = tmpVals[1];
-                break;
-            case 1: // Near Wall Thickness
-                tmpVals = calcFromNearWallThickness(N, vals[0], vals[2], stretchFun);
-                vals[1] = tmpVals[0];
-                vals[3] = tmpVals[1];
-                break;
-            case 2: // Thickness Ratio
-                tmpVals = calcFromThicknessRatio(N, vals[0], vals[3], stretchFun);
-                vals[1] = tmpVals[0];
-                vals[2] = tmpVals[1];
-                break;
+        calculate(true);
+    }
+
+    /**
+     * Reads the inputs on the event thread and calculates the dependent
+     * values on the background executor, replacing any calculation still
+     * in progress.
+     * 
+     * @param interactive - true for a button press: invalid inputs are
+     *                      logged and all fields are reformatted
+     */
+    private void calculate(final boolean interactive) {
+        final int distMode = getDistributionMode();
+        final int stretchFun = getStretchingFunc();
+
+        final int N;
+        final double[] vals = {1.0, 1.0, 1.0, 1.0};
+        try {
+            N = getNumLayers();
+            vals[0] = getTotalThickness();
+            vals[1] = getStretchingValue();
+            vals[2] = getNearWallThickness();
+            vals[3] = getThicknessRatioValue();
+        } catch (NumberFormatException ex) {
+            // incomplete values are normal while typing
+            if (interactive) {
+                log("Invalid input: " + ex.getMessage());
+            }
+            return;
         }
-        updateTextValues(N, vals);
+
+        _executor.submit(new CalculatorExecutor.Job<double[]>() {
+            @Override
+            protected double[] compute(CalculatorExecutor.Progress progress) {
+                // superseded before it started
+                if (progress.isCancelled()) {
+                    return null;
+                }
+                
+                // update other two values
+                double[] tmpVals;
+                switch (distMode) {
+                    case 0: // Stretch Factor
+                        tmpVals = cachedCalc(distMode, N, vals[0], vals[1], stretchFun, progress);
+                        vals[2] = tmpVals[0];
+                        vals[3] = tmpVals[1];
+                        break;
+                    case 1: // Near Wall Thickness
+                        tmpVals = cachedCalc(distMode, N, vals[0], vals[2], stretchFun, progress);
+                        vals[1] = tmpVals[0];
+                        vals[3] = tmpVals[1];
+                        break;
+                    case 2: // Thickness Ratio
+                        tmpVals = cachedCalc(distMode, N, vals[0], vals[3], stretchFun, progress);
+                        vals[1] = tmpVals[0];
+                        vals[2] = tmpVals[1];
+                        break;
+                }
+                return vals;
+            }
+
+            @Override
+            protected void done(double[] result) {
+                if (interactive) {
+                    updateTextValues(N, result);
+                } else {
+                    updateDependentValues(distMode, result);
+                }
+            }
+
+            @Override
+            protected void failed(Throwable cause) {
+                log("Calculation failed: " + cause);
+            }
+        });
     }
 
     private void distModeComboActionPerformed(java.awt.event.ActionEvent evt) {
@@ -492,6 +622,11 @@ public class PrismLayerCalculator extends javax.swing.JFrame {
                 thicknessRatioBox.setEditable(true);
                 break;
         }
+        _liveUpdate.trigger();
+    }
+
+    private void stretchFuncComboActionPerformed(java.awt.event.ActionEvent evt) {
+        _liveUpdate.trigger();
     }
 
     // Variables declaration - do not modify                     
@@ -0,0 +1,161 @@
+package Tools;
+
+/**
+ * Layer-by-layer prism distributions for the geometric progression (GP) and
+ * hyperbolic tangent (HT) stretching functions, given the solved stretching
+ * parameter (see PrismLayerMath / PrismLayerSolver).
+ *
+ *   GP - t_k = s1 r^k, with s1 the near-wall thickness
+ *   HT - y_k = T (1 + tanh(F (k/N - 1)) / tanh(F)), the layer k spanning y_k to y_k+1
+ *
+ * HT thicknesses use the identity
+ *   t_k = T sinh(F/N) / (tanh(F) cosh(u_k) cosh(u_k+1)),  u_k = F (k/N - 1)
+ * instead of differencing y_k, so near-wall layers keep full precision at
+ * large stretching factors. Heights are accumulated from the wall.
+ *
+ * Growth ratios are t_k / t_k-1 (1 for the wall layer) and are checked
+ * against a maximum growth ratio; use Double.POSITIVE_INFINITY to disable
+ * the check.
+ */
+public final class PrismLayerDistribution {
+
+    private PrismLayerDistribution() {
+    }
+
+    /**
+     * Fills the layer thicknesses, cumulative heights and growth ratios.
+     *
+     * @param function - PrismLayerMath.GP or PrismLayerMath.HT
+     * @param N - number of layers
+     * @param totalThick - total prism layer thickness
+     * @param stretch - GP stretching ratio or HT stretching factor
+     * @param maxGrowth - maximum allowed growth ratio
+     * @param thickness - output layer thicknesses, at least N long
+     * @param height - output outer-face heights, at least N long (null to skip)
+     * @param growth - output growth ratios, at least N long (null to skip)
+     * @return Number of layers whose growth ratio exceeds maxGrowth
+     */
+    public static int fill(int function, int N, double totalThick, double stretch, double maxGrowth,
+            double[] thickness, double[] height, double[] growth) {
+        checkLayers(N);
+        if (function == PrismLayerMath.GP) {
+            fillGP(N, totalThick, stretch, thickness);
+        } else {
+            fillHT(N, totalThick, stretch, thickness);
+        }
+
+        int violations = 0;
+        double y = 0.0;
+        for (int k = 0; k < N; ++k) {
+            double g = k == 0 ? 1.0 : thickness[k] / thickness[k - 1];
+            if (g > maxGrowth) {
+                violations++;
+            }
+            if (growth != null) {
+                growth[k] = g;
+            }
+            if (height != null) {
+                y += thickness[k];
+                height[k] = y;
+            }
+        }
+        // the outer face is the total thickness by definition
+        if (height != null) {
+            height[N - 1] = totalThick;
+        }
+        return violations;
+    }
+
+    /**
+     * Streams the layers to a sink, from the wall outwards, without building
+     * arrays.
+     *
+     * @param function - PrismLayerMath.GP or PrismLayerMath.HT
+     * @param N - number of layers
+     * @param totalThick - total prism layer thickness
+     * @param stretch - GP stretching ratio or HT stretching factor
+     * @param maxGrowth - maximum allowed growth ratio
+     * @param sink - receives every layer
+     * @return Number of layers whose growth ratio exceeds maxGrowth
+     */
+    public static int stream(int function, int N, double totalThick, double stretch, double maxGrowth, LayerSink sink) {
+        checkLayers(N);
+        boolean gp = function == PrismLayerMath.GP;
+        double s1 = gp ? nearWallGP(N, totalThick, stretch) : 0.0;
+        int violations = 0;
+        double previous = 0.0;
+        double y = 0.0;
+        for (int k = 0; k < N; ++k) {
+            double t;
+            if (gp) {
+                t = k == 0 ? s1 : previous * (N == 1 ? 1.0 : stretch);
+            } else {
+                t = layerHT(k, N, totalThick, stretch);
+            }
+            double g = k == 0 ? 1.0 : t / previous;
+            boolean violation = g > maxGrowth;
+            if (violation) {
+                violations++;
+            }
+            y = k == N - 1 ? totalThick : y + t;
+            sink.accept(k, t, y, g, violation);
+            previous = t;
+        }
+        return violations;
+    }
+
+    /**
+     * @return Index of the first layer whose growth ratio exceeds maxGrowth, or -1
+     */
+    public static int firstViolation(double[] growth, int N, double maxGrowth) {
+        for (int k = 0; k < N; ++k) {
+            if (growth[k] > maxGrowth) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    // ===============================================
+    // helper routines
+    // ===============================================
+
+    private static void checkLayers(int N) {
+        if (N < 1) {
+            throw new IllegalArgumentException("Number of layers must be positive, got " + N);
+        }
+    }
+
+    private static void fillGP(int N, double totalThick, double stretch, double[] thickness) {
+        double t = nearWallGP(N, totalThick, stretch);
+        double r = N == 1 ? 1.0 : stretch;
+        for (int k = 0; k < N; ++k) {
+            thickness[k] = t;
+            t *= r;
+        }
+    }
+
+    // uniform layers for a unit ratio, where the GP relation is 0/0
+    private static double nearWallGP(int N, double totalThick, double stretch) {
+        if (N == 1 || stretch == 1.0) {
+            return totalThick / N;
+        }
+        return PrismLayerMath.calcNearWallThicknessFromStretchingGP(N, totalThick, stretch);
+    }
+
+    private static void fillHT(int N, double totalThick, double stretch, double[] thickness) {
+        for (int k = 0; k < N; ++k) {
+            thickness[k] = layerHT(k, N, totalThick, stretch);
+        }
+    }
+
+    private static double layerHT(int k, int N, double totalThick, double F) {
+        if (F == 0.0) {
+            return totalThick / N;
+        }
+        double b = F / N;
+        double u0 = b * k - F;
+        double u1 = u0 + b;
+        return totalThick * Math.sinh(b) / (Math.tanh(F) * Math.cosh(u0) * Math.cosh(u1));
+    }
+}
@@ -0,0 +1,80 @@
+package Tools;
+
+/**
+ * Prism layer relations for the geometric progression (GP) and hyperbolic
+ * tangent (HT) stretching functions. This is the STAR-CCM+ free math behind
+ * the Prism Layer Calculator, usable headless from scripts and benchmarks.
+ *
+ * Notation: N - number of layers, totalThick - total prism layer thickness,
+ * stretch - stretching parameter (GP ratio or HT stretching factor),
+ * nearWall - near-wall layer thickness, thicknessRatio - ratio of the last to
+ * the first layer thickness.
+ *
+ * The inverse relations return NaN for inputs without a solution. The GP
+ * inverse is solved by PrismLayerSolver with its default tolerance, the HT
+ * inverses are looked up in HyperbolicTangentTable. Use the solver directly
+ * for iteration counts, residuals and allocation-free repeated exact solves.
+ */
+public final class PrismLayerMath {
+
+    /** Stretching function index: geometric progression. */
+    public static final int GP = 0;
+    /** Stretching function index: hyperbolic tangent. */
+    public static final int HT = 1;
+
+    /** Distribution mode index: stretch factor given. */
+    public static final int MODE_STRETCH_FACTOR = 0;
+    /** Distribution mode index: near-wall thickness given. */
+    public static final int MODE_WALL_THICKNESS = 1;
+    /** Distribution mode index: thickness ratio given. */
+    public static final int MODE_THICKNESS_RATIO = 2;
+
+    private PrismLayerMath() {
+    }
+
+    public static double calcNearWallThicknessFromStretchingGP(int N, double totalThick, double stretch) {
+        double Nd = (double) N;
+        return totalThick * (stretch - 1.0) / (Math.pow(stretch, Nd) - 1.0);
+    }
+
+    public static double calcStretchingRatioFromNearWallThicknessGP(int N, double totalThick, double nearWall) {
+        PrismLayerSolver.Result result = new PrismLayerSolver.Result();
+        PrismLayerSolver.getDefault().stretchingFromNearWallGP(N, totalThick, nearWall, result);
+        return result.getValue();
+    }
+
+    public static double calcStretchingRatioFromThicknessRatioGP(int N, double thicknessRatio) {
+        double Nd = (double) N;
+        return Math.exp(Math.log(thicknessRatio) / (Nd - 1.0));
+    }
+
+    public static double calcThicknessRatioFromStretchingRatioGP(int N, double stretch) {
+        double Nd = (double) N;
+        return Math.pow(stretch, Nd - 1.0);
+    }
+
+    public static double calcNearWallThicknessFromStretchingHT(int N, double totalThick, double stretch) {
+        double Nd = (double) N;
+        double fac = 1.0 / Nd - 1.0;
+        return totalThick * (1.0 + Math.tanh(stretch * fac) / Math.tanh(stretch));
+    }
+
+    public static double calcStretchingRatioFromNearWallThicknessHT(int N, double totalThick, double nearWall) {
+        return HyperbolicTangentTable.stretchingFromNearWallThickness(N, totalThick, nearWall);
+    }
+
+    public static double calcStretchingRatioFromThicknessRatioHT(int N, double thicknessRatio) {
+        return HyperbolicTangentTable.stretchingFromThicknessRatio(N, thicknessRatio);
+    }
+
+    public static double calcThicknessRatioFromStretchingRatioHT(int N, double Fs) {
+        double Nd = (double) N;
+        double s1 = 1.0 + Math.tanh(Fs * (1.0 / Nd - 1.0)) / Math.tanh(Fs);
+        double sNm1 = 1.0 + Math.tanh(-Fs / Nd) / Math.tanh(Fs);
+        return (1.0 - sNm1) / s1;
+    }
+
+    public static double atanh(double x) {
+        return 0.5 * Math.log((1.0 + x) / (1.0 - x));
+    }
+}
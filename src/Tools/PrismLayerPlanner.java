@@ -0,0 +1,366 @@
+package Tools;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Plans the prism layers of many wall boundaries at once (wing, flap,
+ * fuselage, nacelle, ...), each with its own reference length, target wall
+ * y+, layer count and total thickness, against one freestream. This is what
+ * the Wall Y+ and Prism Layer Calculators do for a single surface.
+ *
+ * Boundaries can be put in a group when their prism layers must share one
+ * total thickness, e.g. where a wing meets the fuselage. A group uses the
+ * smallest total thickness requested by its members, further capped by an
+ * optional limit per group; members whose request was reduced are marked
+ * as adjusted.
+ *
+ * Groups are reconciled first; the near-wall spacing, stretching and layer
+ * distribution of every boundary are then solved in parallel on the shared
+ * fork-join pool, with prism layer solves shared through SolveCache.
+ */
+public final class PrismLayerPlanner {
+
+    private static final int LEAF_SIZE = 1;
+
+    private final int _correlation;
+    private final double _velocity;
+    private final double _density;
+    private final double _viscosity;
+    private final int _function;
+    private final double _maxGrowth;
+
+    /**
+     * A wall boundary and its local prism layer requirements.
+     */
+    public static final class Boundary {
+
+        private final String _name;
+        private final String _group;
+        private final double _refLength;
+        private final double _targetYp;
+        private final int _layers;
+        private final double _totalThick;
+
+        /**
+         * @param name - boundary name, e.g. as in the STAR-CCM+ region
+         * @param group - name of the group sharing a total thickness, null for none
+         * @param refLength - reference length of the Reynolds number, e.g. the local chord
+         * @param targetYp - target wall y+
+         * @param layers - number of prism layers, at least 2
+         * @param totalThick - requested total prism layer thickness
+         * @throws IllegalArgumentException if a value is out of range
+         */
+        public Boundary(String name, String group, double refLength, double targetYp, int layers, double totalThick) {
+            if (!(refLength > 0.0) || !(targetYp > 0.0) || !(totalThick > 0.0)) {
+                throw new IllegalArgumentException("Reference length, target y+ and thickness of "
+                        + name + " must be positive");
+            }
+            if (layers < 2) {
+                throw new IllegalArgumentException("Boundary " + name + " needs at least 2 layers, got " + layers);
+            }
+            _name = name;
+            _group = group;
+            _refLength = refLength;
+            _targetYp = targetYp;
+            _layers = layers;
+            _totalThick = totalThick;
+        }
+
+        public String getName() {
+            return _name;
+        }
+
+        public String getGroup() {
+            return _group;
+        }
+
+        public double getReferenceLength() {
+            return _refLength;
+        }
+
+        public double getTargetWallYp() {
+            return _targetYp;
+        }
+
+        public int getLayers() {
+            return _layers;
+        }
+
+        public double getTotalThickness() {
+            return _totalThick;
+        }
+    }
+
+    /**
+     * Planned prism layer of one boundary.
+     */
+    public static final class Entry {
+
+        private final Boundary _boundary;
+        private final double _totalThick;
+        private double _reynolds;
+        private double _nearWall;
+        private double _stretch;
+        private double _thicknessRatio;
+        private double[] _thickness;
+        private int _violations;
+
+        Entry(Boundary boundary, double totalThick) {
+            _boundary = boundary;
+            _totalThick = totalThick;
+        }
+
+        public Boundary getBoundary() {
+            return _boundary;
+        }
+
+        public double getReynolds() {
+            return _reynolds;
+        }
+
+        public double getNearWallThickness() {
+            return _nearWall;
+        }
+
+        /**
+         * @return Total thickness after group reconciliation
+         */
+        public double getTotalThickness() {
+            return _totalThick;
+        }
+
+        /**
+         * @return true if the group reduced the requested total thickness
+         */
+        public boolean isAdjusted() {
+            return _totalThick < _boundary.getTotalThickness();
+        }
+
+        /**
+         * @return GP stretching ratio or HT stretching factor, NaN if infeasible
+         */
+        public double getStretching() {
+            return _stretch;
+        }
+
+        public double getThicknessRatio() {
+            return _thicknessRatio;
+        }
+
+        /**
+         * @return Layer thicknesses from the wall outwards (read-only), null if infeasible
+         */
+        public double[] getLayerThickness() {
+            return _thickness;
+        }
+
+        /**
+         * @return Number of layers above the maximum growth ratio
+         */
+        public int getGrowthViolations() {
+            return _violations;
+        }
+
+        /**
+         * @return false if the near-wall spacing does not fit the layers into
+         * the total thickness
+         */
+        public boolean isFeasible() {
+            return _thickness != null;
+        }
+    }
+
+    /**
+     * Consolidated plan, in the order of the boundaries.
+     */
+    public static final class Plan {
+
+        private final int _function;
+        private final List<Entry> _entries;
+        private final Map<String, Double> _groupThickness;
+        private final long _elapsedNanos;
+
+        Plan(int function, Entry[] entries, Map<String, Double> groupThickness, long elapsedNanos) {
+            _function = function;
+            _entries = Collections.unmodifiableList(Arrays.asList(entries));
+            _groupThickness = Collections.unmodifiableMap(groupThickness);
+            _elapsedNanos = elapsedNanos;
+        }
+
+        public List<Entry> getEntries() {
+            return _entries;
+        }
+
+        /**
+         * @return Shared total thickness of every group, by group name
+         */
+        public Map<String, Double> getGroupThickness() {
+            return _groupThickness;
+        }
+
+        /**
+         * @return Number of boundaries without a feasible distribution
+         */
+        public int getInfeasibleCount() {
+            int count = 0;
+            for (Entry entry : _entries) {
+                if (!entry.isFeasible()) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        public double getElapsedSeconds() {
+            return _elapsedNanos * 1.0e-9;
+        }
+
+        /**
+         * Writes the plan as CSV with one row per boundary.
+         *
+         * @param out - destination, e.g. a Writer or StringBuilder
+         */
+        public void writeCsv(Appendable out) throws IOException {
+            String name = _function == PrismLayerMath.GP ? "GP" : "HT";
+            out.append("boundary,group,function,reynolds,targetYp,layers,requestedThickness,totalThickness,"
+                    + "nearWallThickness,stretching,thicknessRatio,growthViolations\n");
+            StringBuilder row = new StringBuilder(160);
+            for (Entry entry : _entries) {
+                Boundary b = entry.getBoundary();
+                row.setLength(0);
+                row.append(b.getName()).append(',').append(b.getGroup() == null ? "" : b.getGroup()).append(',')
+                        .append(name).append(',').append(entry.getReynolds()).append(',')
+                        .append(b.getTargetWallYp()).append(',').append(b.getLayers()).append(',')
+                        .append(b.getTotalThickness()).append(',').append(entry.getTotalThickness()).append(',')
+                        .append(entry.getNearWallThickness()).append(',').append(entry.getStretching()).append(',')
+                        .append(entry.getThicknessRatio()).append(',').append(entry.getGrowthViolations()).append('\n');
+                out.append(row);
+            }
+        }
+    }
+
+    /**
+     * @param correlation - SkinFriction correlation index
+     * @param velocity - freestream velocity
+     * @param density - density
+     * @param viscosity - dynamic viscosity
+     * @param function - PrismLayerMath.GP or PrismLayerMath.HT
+     * @param maxGrowth - maximum allowed growth ratio, Double.POSITIVE_INFINITY to disable
+     */
+    public PrismLayerPlanner(int correlation, double velocity, double density, double viscosity,
+            int function, double maxGrowth) {
+        if (!(velocity > 0.0) || !(density > 0.0) || !(viscosity > 0.0)) {
+            throw new IllegalArgumentException("Velocity, density and viscosity must be positive");
+        }
+        _correlation = correlation;
+        _velocity = velocity;
+        _density = density;
+        _viscosity = viscosity;
+        _function = function;
+        _maxGrowth = maxGrowth;
+    }
+
+    /**
+     * Plans all boundaries, groups sharing the smallest requested thickness.
+     */
+    public Plan plan(List<Boundary> boundaries) {
+        return plan(boundaries, Collections.<String, Double>emptyMap());
+    }
+
+    /**
+     * Plans all boundaries.
+     *
+     * @param boundaries - boundaries to plan
+     * @param groupLimits - optional upper limit of the total thickness per group name
+     * @return Consolidated plan
+     */
+    public Plan plan(List<Boundary> boundaries, Map<String, Double> groupLimits) {
+        long start = System.nanoTime();
+
+        // reconcile the groups: smallest request, capped by the group limit
+        Map<String, Double> groupThickness = new HashMap<>();
+        for (Boundary b : boundaries) {
+            if (b.getGroup() != null) {
+                Double current = groupThickness.get(b.getGroup());
+                double thick = current == null ? b.getTotalThickness() : Math.min(current, b.getTotalThickness());
+                groupThickness.put(b.getGroup(), thick);
+            }
+        }
+        for (Map.Entry<String, Double> limit : groupLimits.entrySet()) {
+            Double current = groupThickness.get(limit.getKey());
+            if (current != null && limit.getValue() < current) {
+                groupThickness.put(limit.getKey(), limit.getValue());
+            }
+        }
+
+        Entry[] entries = new Entry[boundaries.size()];
+        for (int i = 0; i < entries.length; ++i) {
+            Boundary b = boundaries.get(i);
+            double thick = b.getGroup() == null ? b.getTotalThickness() : groupThickness.get(b.getGroup());
+            entries[i] = new Entry(b, thick);
+        }
+        if (entries.length > 0) {
+            ComputePool.get().invoke(new PlanTask(this, entries, 0, entries.length));
+        }
+        return new Plan(_function, entries, groupThickness, System.nanoTime() - start);
+    }
+
+    // ===============================================
+    // helper routines
+    // ===============================================
+
+    private void solve(Entry entry, double[] pair) {
+        Boundary b = entry.getBoundary();
+        SolveCache cache = SolveCache.getDefault();
+        int N = b.getLayers();
+        double T = entry.getTotalThickness();
+
+        entry._reynolds = _density * _velocity * b.getReferenceLength() / _viscosity;
+        double Cf = SkinFriction.calculateCf(_correlation, entry._reynolds);
+        entry._nearWall = SkinFriction.nearWallThickness(Cf, b.getTargetWallYp(), _velocity, _density, _viscosity);
+
+        boolean ok = cache.prism(_function, PrismLayerMath.MODE_WALL_THICKNESS, N, T, entry._nearWall, pair);
+        entry._stretch = pair[0];
+        entry._thicknessRatio = pair[1];
+        if (ok) {
+            entry._thickness = new double[N];
+            entry._violations = PrismLayerDistribution.fill(_function, N, T, entry._stretch, _maxGrowth,
+                    entry._thickness, null, null);
+        }
+    }
+
+    private static final class PlanTask extends RecursiveAction {
+
+        private final PrismLayerPlanner _planner;
+        private final Entry[] _entries;
+        private final int _from;
+        private final int _to;
+
+        PlanTask(PrismLayerPlanner planner, Entry[] entries, int from, int to) {
+            _planner = planner;
+            _entries = entries;
+            _from = from;
+            _to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (_to - _from <= LEAF_SIZE) {
+                double[] pair = new double[2];
+                for (int i = _from; i < _to; ++i) {
+                    _planner.solve(_entries[i], pair);
+                }
+            } else {
+                int mid = (_from + _to) >>> 1;
+                invokeAll(new PlanTask(_planner, _entries, _from, mid),
+                        new PlanTask(_planner, _entries, mid, _to));
+            }
+        }
+    }
+}
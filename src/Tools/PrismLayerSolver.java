@@ -0,0 +1,311 @@
+package Tools;
+
+/**
+ * Inverse prism layer relations, solved by safeguarded Newton iteration
+ * (Newton steps with a bisection fallback inside a sign-changing bracket)
+ * with analytic derivatives. Free of STAR-CCM+ and Swing.
+ *
+ * The equations are written so that they stay well conditioned over the
+ * whole range of stretching:
+ *   GP near-wall     - ln sum(r^k, k=0..N-1) = ln(T/s1), sum in Horner form
+ *   HT near-wall     - ln(s1/T) = ln sinh(F/N) - ln sinh(F) - ln cosh(aF)
+ *   HT thickness ratio - ln R = ln cosh(F) + ln cosh(aF) - ln cosh(F/N)
+ * with a = 1 - 1/N. The HT forms follow from tanh(x) - tanh(y) =
+ * sinh(x - y)/(cosh(x) cosh(y)) and are identical to the tanh relations of
+ * PrismLayerMath, without their cancellation at large stretching factors.
+ *
+ * Results are written into a caller-owned Result, so repeated solves do not
+ * allocate. A solver instance is immutable and can be shared between threads;
+ * a Result must not be.
+ */
+public final class PrismLayerSolver {
+
+    /** Default relative tolerance on the solution. */
+    public static final double DEFAULT_TOLERANCE = 1.0e-14;
+    /** Default iteration limit. */
+    public static final int DEFAULT_MAX_ITERATIONS = 100;
+
+    private static final PrismLayerSolver DEFAULT = new PrismLayerSolver(DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS);
+
+    private static final int GP_NEAR_WALL = 0;
+    private static final int HT_NEAR_WALL = 1;
+    private static final int HT_THICKNESS_RATIO = 2;
+
+    private static final double LN2 = Math.log(2.0);
+    private static final double MIN_STRETCH = 1.0e-8;
+    private static final int MAX_BRACKET_DOUBLINGS = 16;
+
+    private final double _tolerance;
+    private final int _maxIterations;
+
+    /**
+     * Outcome of a solve: the solution, the number of iterations used, the
+     * final relative residual of the solved equation and whether the
+     * tolerance was met. A failed solve (e.g. an input without a solution)
+     * has a NaN value.
+     */
+    public static final class Result {
+
+        private double _value;
+        private int _iterations;
+        private double _residual;
+        private boolean _converged;
+        // scratch: equation value and derivative at the current iterate
+        private double _f;
+        private double _df;
+
+        public double getValue() {
+            return _value;
+        }
+
+        public int getIterations() {
+            return _iterations;
+        }
+
+        public double getResidual() {
+            return _residual;
+        }
+
+        public boolean isConverged() {
+            return _converged;
+        }
+
+        private boolean set(double value, int iterations, double residual, boolean converged) {
+            _value = value;
+            _iterations = iterations;
+            _residual = residual;
+            _converged = converged;
+            return converged;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("value=%.15g, iterations=%d, residual=%.3e, converged=%b",
+                    _value, _iterations, _residual, _converged);
+        }
+    }
+
+    /**
+     * @param tolerance - relative tolerance on the solution
+     * @param maxIterations - iteration limit
+     */
+    public PrismLayerSolver(double tolerance, int maxIterations) {
+        if (!(tolerance > 0.0) || maxIterations < 1) {
+            throw new IllegalArgumentException("Tolerance and iteration limit must be positive");
+        }
+        _tolerance = tolerance;
+        _maxIterations = maxIterations;
+    }
+
+    /**
+     * @return Shared solver with the default tolerance and iteration limit
+     */
+    public static PrismLayerSolver getDefault() {
+        return DEFAULT;
+    }
+
+    public double getTolerance() {
+        return _tolerance;
+    }
+
+    public int getMaxIterations() {
+        return _maxIterations;
+    }
+
+    /**
+     * Geometric progression stretching ratio for a given near-wall thickness.
+     *
+     * @param N - number of layers
+     * @param totalThick - total prism layer thickness
+     * @param nearWall - near-wall layer thickness, at most totalThick
+     * @param out - receives the stretching ratio
+     * @return true if converged
+     */
+    public boolean stretchingFromNearWallGP(int N, double totalThick, double nearWall, Result out) {
+        double S = totalThick / nearWall;
+        if (N < 2 || !(S >= 1.0) || Double.isInfinite(S)) {
+            return out.set(N == 1 && S == 1.0 ? 1.0 : Double.NaN, 0, Double.NaN, N == 1 && S == 1.0);
+        }
+        if (S == N) {
+            return out.set(1.0, 0, 0.0, true);
+        }
+        double hi = Math.max(1.0, Math.pow(S, 1.0 / (N - 1.0)));
+        return solve(GP_NEAR_WALL, N, Math.log(S), 0.0, hi, hi, out);
+    }
+
+    /**
+     * Hyperbolic tangent stretching factor for a given near-wall thickness.
+     *
+     * @param N - number of layers
+     * @param totalThick - total prism layer thickness
+     * @param nearWall - near-wall layer thickness, at most totalThick/N
+     * @param out - receives the stretching factor
+     * @return true if converged
+     */
+    public boolean stretchingFromNearWallHT(int N, double totalThick, double nearWall, Result out) {
+        double phi = nearWall / totalThick;
+        if (N < 2 || !(phi > 0.0) || !(phi <= 1.0 / N)) {
+            return out.set(Double.NaN, 0, Double.NaN, false);
+        }
+        if (phi == 1.0 / N) {
+            return out.set(0.0, 0, 0.0, true);
+        }
+        return solveExpanding(HT_NEAR_WALL, N, Math.log(phi), out);
+    }
+
+    /**
+     * Hyperbolic tangent stretching factor for a given last to first layer
+     * thickness ratio.
+     *
+     * @param N - number of layers
+     * @param thicknessRatio - thickness ratio, at least 1
+     * @param out - receives the stretching factor
+     * @return true if converged
+     */
+    public boolean stretchingFromThicknessRatioHT(int N, double thicknessRatio, Result out) {
+        if (N < 2 || !(thicknessRatio >= 1.0) || Double.isInfinite(thicknessRatio)) {
+            return out.set(Double.NaN, 0, Double.NaN, false);
+        }
+        if (thicknessRatio == 1.0) {
+            return out.set(0.0, 0, 0.0, true);
+        }
+        return solveExpanding(HT_THICKNESS_RATIO, N, Math.log(thicknessRatio), out);
+    }
+
+    // ===============================================
+    // helper routines
+    // ===============================================
+
+    // HT equations: bracket the root by doubling the upper bound, starting
+    // Newton from the small-F (quadratic) or large-F (linear) asymptote
+    private boolean solveExpanding(int equation, int N, double target, Result out) {
+        double b = 1.0 / N;
+        double a = 1.0 - b;
+        double guess;
+        if (equation == HT_NEAR_WALL) {
+            double small = Math.sqrt((Math.log(b) - target) / ((1.0 - b * b) / 6.0 + 0.5 * a * a));
+            guess = small < 1.0 ? small : (LN2 * (1.0 - b) - target) / (2.0 * a);
+        } else {
+            double small = Math.sqrt(target / (0.5 * (1.0 + a * a - b * b)));
+            guess = small < 1.0 ? small : (target + LN2) / (2.0 * a);
+        }
+
+        evaluate(equation, N, target, MIN_STRETCH, out);
+        double fLo = out._f;
+        double hi = Math.max(1.0, guess);
+        for (int k = 0; k < MAX_BRACKET_DOUBLINGS; ++k) {
+            evaluate(equation, N, target, hi, out);
+            if (out._f * fLo <= 0.0) {
+                return solve(equation, N, target, MIN_STRETCH, hi, Math.min(Math.max(guess, MIN_STRETCH), hi), out);
+            }
+            hi *= 2.0;
+        }
+        return out.set(Double.NaN, 0, out._f, false);
+    }
+
+    // safeguarded Newton on [lo, hi], the equation changes sign in the bracket
+    private boolean solve(int equation, int N, double target, double lo, double hi, double x, Result out) {
+        evaluate(equation, N, target, lo, out);
+        double fLo = out._f;
+        // orient the bracket so that f(xNeg) < 0 < f(xPos)
+        double xNeg = fLo < 0.0 ? lo : hi;
+        double xPos = fLo < 0.0 ? hi : lo;
+        double dxOld = hi - lo;
+        double dx = dxOld;
+        // residuals below round-off of the equation cannot improve the root
+        double floor = 4.0 * Math.ulp(Math.max(1.0, Math.abs(target)));
+        evaluate(equation, N, target, hi, out);
+        if (Math.abs(out._f) <= floor) {
+            return out.set(hi, 0, Math.abs(out._f), true);
+        }
+        evaluate(equation, N, target, x, out);
+        for (int it = 1; it <= _maxIterations; ++it) {
+            double f = out._f;
+            double df = out._df;
+            if (f == 0.0) {
+                return out.set(x, it - 1, 0.0, true);
+            }
+            if (f < 0.0) {
+                xNeg = x;
+            } else {
+                xPos = x;
+            }
+            // bisect if Newton leaves the bracket or converges too slowly
+            double newton = x - f / df;
+            if (df == 0.0 || (newton - xNeg) * (newton - xPos) > 0.0 || Math.abs(2.0 * f) > Math.abs(dxOld * df)) {
+                dxOld = dx;
+                dx = 0.5 * (xPos - xNeg);
+                x = xNeg + dx;
+            } else {
+                dxOld = dx;
+                dx = newton - x;
+                x = newton;
+            }
+            evaluate(equation, N, target, x, out);
+            if (Math.abs(dx) <= _tolerance * Math.abs(x) || Math.abs(out._f) <= floor || x == xNeg || x == xPos) {
+                return out.set(x, it, Math.abs(out._f), true);
+            }
+        }
+        return out.set(x, _maxIterations, Math.abs(out._f), false);
+    }
+
+    // residual (a difference of logarithms, i.e. a relative error) and its
+    // derivative, written into out._f / out._df
+    private static void evaluate(int equation, int N, double target, double x, Result out) {
+        switch (equation) {
+            case GP_NEAR_WALL: {
+                double p = 1.0;
+                double dp = 0.0;
+                for (int k = 1; k < N; ++k) {
+                    dp = dp * x + p;
+                    p = p * x + 1.0;
+                }
+                out._f = Math.log(p) - target;
+                out._df = dp / p;
+                break;
+            }
+            case HT_NEAR_WALL:
+                out._f = logNearWallFractionHT(N, x) - target;
+                out._df = logNearWallFractionSlopeHT(N, x);
+                break;
+            default:
+                out._f = logThicknessRatioHT(N, x) - target;
+                out._df = logThicknessRatioSlopeHT(N, x);
+                break;
+        }
+    }
+
+    // ln(nearWall/totalThick) of the HT distribution, F > 0
+    static double logNearWallFractionHT(int N, double F) {
+        double b = 1.0 / N;
+        return lnSinh(b * F) - lnSinh(F) - lnCosh((1.0 - b) * F);
+    }
+
+    static double logNearWallFractionSlopeHT(int N, double F) {
+        double b = 1.0 / N;
+        double a = 1.0 - b;
+        return b / Math.tanh(b * F) - 1.0 / Math.tanh(F) - a * Math.tanh(a * F);
+    }
+
+    // ln(thicknessRatio) of the HT distribution
+    static double logThicknessRatioHT(int N, double F) {
+        double b = 1.0 / N;
+        return lnCosh(F) + lnCosh((1.0 - b) * F) - lnCosh(b * F);
+    }
+
+    static double logThicknessRatioSlopeHT(int N, double F) {
+        double b = 1.0 / N;
+        double a = 1.0 - b;
+        return Math.tanh(F) + a * Math.tanh(a * F) - b * Math.tanh(b * F);
+    }
+
+    private static double lnCosh(double x) {
+        double ax = Math.abs(x);
+        return ax + Math.log1p(Math.exp(-2.0 * ax)) - LN2;
+    }
+
+    // x > 0
+    private static double lnSinh(double x) {
+        return x + Math.log(-Math.expm1(-2.0 * x)) - LN2;
+    }
+}
@@ -0,0 +1,14 @@
+package Tools;
+
+/**
+ * Receives airfoil profiles as they are generated. Sinks used with the
+ * parallel generators are called from several worker threads at once and
+ * must be thread-safe.
+ */
+public interface ProfileSink {
+
+    /**
+     * @param profile - finished profile (read-only)
+     */
+    void accept(AirfoilProfile profile);
+}
@@ -0,0 +1,120 @@
+package Tools;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Text formatting of airfoil coordinates in the Selig layout: a name line
+ * followed by one "x y" pair per line, running from the upper trailing edge
+ * around the leading edge to the lower trailing edge.
+ */
+public final class SeligFormat {
+
+    private static final int DECIMALS = 6;
+    private static final double SCALE = 1.0e6;
+
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+
+    private SeligFormat() {
+    }
+
+    /**
+     * Reads a Selig format .dat file.
+     *
+     * @param file - coordinate file
+     * @return The profile, named after the first line of the file
+     * @throws IOException if the file cannot be read or holds no coordinates
+     */
+    public static AirfoilProfile read(File file) throws IOException {
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(file), ASCII))) {
+            String name = in.readLine();
+            if (name == null) {
+                throw new IOException("Empty airfoil file: " + file);
+            }
+            name = name.trim();
+            if (name.isEmpty()) {
+                name = file.getName().replaceFirst("\\.[^.]*$", "");
+            }
+
+            double[] x = new double[128];
+            double[] y = new double[128];
+            int n = 0;
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] tokens = line.trim().split("\\s+");
+                if (tokens.length < 2 || tokens[0].isEmpty()) {
+                    continue;
+                }
+                if (n == x.length) {
+                    x = Arrays.copyOf(x, 2 * n);
+                    y = Arrays.copyOf(y, 2 * n);
+                }
+                try {
+                    x[n] = Double.parseDouble(tokens[0]);
+                    y[n] = Double.parseDouble(tokens[1]);
+                } catch (NumberFormatException ex) {
+                    throw new IOException("Invalid coordinate line in " + file + ": " + line);
+                }
+                n++;
+            }
+            if (n < 3) {
+                throw new IOException("No airfoil coordinates found in " + file);
+            }
+            return new AirfoilProfile(name, Arrays.copyOf(x, n), Arrays.copyOf(y, n));
+        }
+    }
+
+    /**
+     * Writes a profile to a Selig format .dat file.
+     *
+     * @param profile - profile to export
+     * @param file - output file
+     */
+    public static void write(AirfoilProfile profile, File file) throws IOException {
+        StringBuilder sb = new StringBuilder(40 * profile.getPointCount() + 32);
+        append(sb, profile);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), ASCII))) {
+            out.write(sb.toString());
+        }
+    }
+
+    /**
+     * Appends a profile block (name line plus coordinates) to a buffer.
+     *
+     * @param sb - output buffer
+     * @param profile - profile to format
+     */
+    public static void append(StringBuilder sb, AirfoilProfile profile) {
+        double[] x = profile.getX();
+        double[] y = profile.getY();
+        sb.append(profile.getName()).append('\n');
+        for (int i = 0; i < x.length; ++i) {
+            sb.append(' ');
+            appendFixed(sb, x[i]);
+            sb.append(' ');
+            appendFixed(sb, y[i]);
+            sb.append('\n');
+        }
+    }
+
+    // locale independent fixed-point formatting without String.format
+    static void appendFixed(StringBuilder sb, double value) {
+        long scaled = Math.round(Math.abs(value) * SCALE);
+        sb.append(value < 0.0 && scaled != 0 ? '-' : ' ');
+        sb.append(scaled / (long) SCALE).append('.');
+        String frac = Long.toString(scaled % (long) SCALE);
+        for (int i = frac.length(); i < DECIMALS; ++i) {
+            sb.append('0');
+        }
+        sb.append(frac);
+    }
+}
@@ -0,0 +1,163 @@
+package Tools;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * The simulation operations the assistant workflows use, and nothing more.
+ * Workflows written against this interface run in a STAR-CCM+ session
+ * through StarSimulation (the default) and headless through
+ * InMemorySimulation, e.g. for regression timing and bulk automation.
+ *
+ * Objects are addressed by presentation name. Values are internal (SI)
+ * values, as the workflows compute them.
+ */
+public interface SimulationFacade {
+
+    /**
+     * One closed airfoil section of a sketch: a spline through interleaved
+     * x, y coordinates (trailing edge upper to trailing edge lower) and a
+     * line closing the blunt trailing edge.
+     */
+    final class Section {
+
+        private final double[] _xy;
+        private final boolean _verticalTE;
+
+        /**
+         * @param xy - interleaved coordinates, at least two points
+         * @param verticalTE - constrain the trailing edge line to be vertical
+         */
+        public Section(double[] xy, boolean verticalTE) {
+            if (xy.length < 4 || xy.length % 2 != 0) {
+                throw new IllegalArgumentException("Expected interleaved x, y of at least 2 points, got " + xy.length + " values");
+            }
+            _xy = xy;
+            _verticalTE = verticalTE;
+        }
+
+        /**
+         * @return Interleaved coordinates (read-only)
+         */
+        public double[] getCoordinates() {
+            return _xy;
+        }
+
+        public int getPointCount() {
+            return _xy.length / 2;
+        }
+
+        public boolean isVerticalTE() {
+            return _verticalTE;
+        }
+    }
+
+    void println(String message);
+
+    File getSessionDir();
+
+    // ===============================================
+    // global parameters
+    // ===============================================
+
+    /**
+     * Reads scalar global parameters.
+     *
+     * @param names - parameter names
+     * @param fallback - value used for missing parameters
+     * @param values - output, at least names.length long
+     * @return Names of the missing parameters (empty if all were found)
+     */
+    List<String> getParameters(String[] names, double fallback, double[] values);
+
+    /**
+     * Writes scalar global parameters, creating the missing ones.
+     *
+     * @param names - parameter names
+     * @param values - new values, one per name
+     * @param previous - optional output of the previous values (NaN for
+     * created parameters), null to skip
+     * @return Number of parameters created
+     */
+    int setParameters(String[] names, double[] values, double[] previous);
+
+    // ===============================================
+    // physics continua
+    // ===============================================
+
+    /**
+     * @return Names of the physics continua with an ideal gas model
+     */
+    List<String> getGasContinua();
+
+    /**
+     * @param continuum - name of an ideal gas continuum
+     * @return Reference pressure of the continuum
+     */
+    double getReferencePressure(String continuum);
+
+    /**
+     * @param continuum - name of an ideal gas continuum
+     * @return Molar mass of the gas in kg/kmol
+     */
+    double getMolarMass(String continuum);
+
+    /**
+     * Sets the constant material properties of the gas of a continuum.
+     *
+     * @param continuum - name of an ideal gas continuum
+     * @param mu - dynamic viscosity
+     * @param cp - specific heat
+     * @param kappa - thermal conductivity
+     */
+    void setGasProperties(String continuum, double mu, double cp, double kappa);
+
+    // ===============================================
+    // 3D-CAD
+    // ===============================================
+
+    /**
+     * Sketches the rectangular farfield on the XY-plane, dimensioned by the
+     * design parameters L_up, L_down and HalfHeight.
+     *
+     * @param cadName - 3D-CAD model name
+     */
+    void createRectangularDomain(String cadName);
+
+    /**
+     * Sets several design parameters of a 3D-CAD model in one update,
+     * followed by a single roll forward of the feature tree.
+     *
+     * @param cadName - 3D-CAD model name
+     * @param names - design parameter names
+     * @param values - new values in m, one per name
+     * @param previous - optional output of the previous values, null to skip
+     * @throws IllegalArgumentException if a design parameter does not exist,
+     * in which case nothing is changed
+     */
+    void setDesignParameters(String cadName, String[] names, double[] values, double[] previous);
+
+    /**
+     * Sketches sections on the XY-plane in one sketch edit and a single roll
+     * forward of the feature tree.
+     *
+     * @param cadName - 3D-CAD model name
+     * @param sketchName - sketch name, null to keep the default
+     * @param sections - sections of the sketch
+     */
+    void createSketch(String cadName, String sketchName, List<Section> sections);
+
+    /**
+     * Sketches every section on a plane offset from XY and lofts through
+     * them in order, with a single roll forward of the feature tree.
+     *
+     * @param cadName - 3D-CAD model name
+     * @param loftName - loft name
+     * @param planeNames - name of each offset plane (unused for a zero offset)
+     * @param sketchNames - name of each sketch
+     * @param offsets - offset of each sketch plane from XY in m
+     * @param sections - sections, one sketch each
+     */
+    void createLoft(String cadName, String loftName, String[] planeNames, String[] sketchNames, double[] offsets,
+            List<Section> sections);
+}
@@ -0,0 +1,87 @@
+package Tools;
+
+/**
+ * Skin-friction correlations and near-wall spacing used by the Wall Y+
+ * Calculator, free of STAR-CCM+ and Swing so they can run headless.
+ */
+public final class SkinFriction {
+
+    /** Schlichting skin friction (default). */
+    public static final int SCHLICHTING = 0;
+    /** Prandtl (1927). */
+    public static final int PRANDTL_1927 = 1;
+    /** ITTC (1957). */
+    public static final int ITTC_1957 = 2;
+    /** Prandtl-Schlichting (1932). */
+    public static final int PRANDTL_SCHLICHTING_1932 = 3;
+    /** Karman-Schoenherr (implicit). */
+    public static final int KARMAN_SCHOENHERR = 4;
+    /** Colebrook for smooth pipes (implicit), Lref is the hydraulic diameter. */
+    public static final int COLEBROOK_SMOOTH = 5;
+    /** Number of correlations, indexed from 0. */
+    public static final int CORRELATIONS = 6;
+
+    private static final String[] NAMES = {
+        "Schlichting", "Prandtl (1927)", "ITTC (1957)", "Prandtl-Schlichting (1932)",
+        "Karman-Schoenherr", "Colebrook (smooth)"};
+
+    private SkinFriction() {
+    }
+
+    /**
+     * @param method - correlation index
+     * @return Display name of the correlation
+     */
+    public static String getName(int method) {
+        return NAMES[method];
+    }
+
+    /**
+     * Calculates the skin friction coefficient for a correlation.
+     *
+     * @param method - correlation index, unknown indices use Schlichting
+     * @param Re - Reynolds number used in the correlation
+     * @return Cf - Skin friction coefficient
+     * @see ImplicitSkinFriction
+     */
+    public static double calculateCf(int method, double Re) {
+        double Cf;
+        switch (method) {
+            case PRANDTL_1927:
+                Cf = 0.074 * Math.pow(Re, -0.2);
+                break;
+            case ITTC_1957:
+                Cf = 0.075 * Math.pow(Math.log10(Re) - 2.0, -2.0);
+                break;
+            case PRANDTL_SCHLICHTING_1932:
+                Cf = 0.455 * Math.pow(Math.log10(Re), -2.58);
+                break;
+            case KARMAN_SCHOENHERR:
+                Cf = ImplicitSkinFriction.karmanSchoenherr(Re);
+                break;
+            case COLEBROOK_SMOOTH:
+                Cf = ImplicitSkinFriction.colebrookSmooth(Re);
+                break;
+            default: //Schlichting skin-friction
+                Cf = Math.pow(2.0 * Math.log10(Re) - 0.65, -2.30);
+                break;
+        }
+        return Cf;
+    }
+
+    /**
+     * Near-wall layer thickness for a target wall y+. The factor of 2.0 takes
+     * into account that the wall to cell-centroid distance is half the
+     * near-wall layer thickness.
+     *
+     * @param Cf - skin friction coefficient
+     * @param targetYp - target wall y+
+     * @param U - freestream velocity
+     * @param rho - density
+     * @param mu - dynamic viscosity
+     * @return Near-wall layer thickness
+     */
+    public static double nearWallThickness(double Cf, double targetYp, double U, double rho, double mu) {
+        return 2.0 * targetYp * mu / (rho * U * Math.sqrt(0.5 * Cf));
+    }
+}
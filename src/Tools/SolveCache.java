@@ -0,0 +1,245 @@
+package Tools;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, thread-safe memo of prism layer answers, shared by the Prism
+ * Layer Calculator, the planner and scripts. The near-wall spacing of a
+ * target y+ is a closed-form expression and is not cached.
+ *
+ * Entries are keyed on normalized inputs so that equivalent questions share
+ * one answer: stretching function, distribution mode, layer count and the
+ * given value, with thicknesses relative to the total thickness.
+ *
+ * The cache can be saved to and loaded from a compact binary file (fixed
+ * 31-byte records) so warm answers survive restarts.
+ */
+public final class SolveCache {
+
+    /** Default file name of a saved cache. */
+    public static final String FILE_NAME = "solvecache.bin";
+
+    private static final int MAGIC = 0x534C5643; // "SLVC"
+    private static final int VERSION = 1;
+    private static final byte PRISM = 0;
+    private static final SolveCache DEFAULT = new SolveCache(4096);
+
+    private final LruCache<Key, double[]> _entries;
+    private final AtomicLong _hits = new AtomicLong();
+    private final AtomicLong _misses = new AtomicLong();
+
+    /**
+     * @param capacity - maximum number of cached answers
+     */
+    public SolveCache(int capacity) {
+        _entries = new LruCache<>(capacity);
+    }
+
+    /**
+     * @return Shared cache used by the calculators
+     */
+    public static SolveCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Looks up a prism layer answer.
+     *
+     * @param function - PrismLayerMath.GP or PrismLayerMath.HT
+     * @param mode - PrismLayerMath.MODE_* index of the given quantity
+     * @param N - number of layers
+     * @param totalThick - total prism layer thickness
+     * @param given - given quantity
+     * @param out - receives the two outputs, as PrismLayerBatch.evaluate
+     * @return false on a miss (out is left untouched)
+     */
+    public boolean getPrism(int function, int mode, int N, double totalThick, double given, double[] out) {
+        double[] value = _entries.get(prismKey(function, mode, N, totalThick, given));
+        if (value == null) {
+            _misses.incrementAndGet();
+            return false;
+        }
+        _hits.incrementAndGet();
+        out[0] = value[0];
+        out[1] = value[1];
+        denormalize(mode, totalThick, out);
+        return true;
+    }
+
+    /**
+     * Stores a prism layer answer; answers with NaN outputs are not cached.
+     */
+    public void putPrism(int function, int mode, int N, double totalThick, double given, double out0, double out1) {
+        if (Double.isNaN(out0) || Double.isNaN(out1)) {
+            return;
+        }
+        double[] value = {out0, out1};
+        normalize(mode, totalThick, value);
+        _entries.put(prismKey(function, mode, N, totalThick, given), value);
+    }
+
+    /**
+     * Prism layer answer from the cache, solved and stored on a miss.
+     *
+     * @param out - receives the two outputs, as PrismLayerBatch.evaluate
+     * @return false if the case has no solution
+     */
+    public boolean prism(int function, int mode, int N, double totalThick, double given, double[] out) {
+        if (getPrism(function, mode, N, totalThick, given, out)) {
+            return true;
+        }
+        boolean ok = PrismLayerBatch.solveCase(function, mode, N, totalThick, given, new PrismLayerSolver.Result(), out);
+        putPrism(function, mode, N, totalThick, given, out[0], out[1]);
+        return ok;
+    }
+
+    public long getHits() {
+        return _hits.get();
+    }
+
+    public long getMisses() {
+        return _misses.get();
+    }
+
+    /**
+     * @return Fraction of lookups answered from the cache
+     */
+    public double getHitRate() {
+        long hits = _hits.get();
+        long total = hits + _misses.get();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public void resetStatistics() {
+        _hits.set(0);
+        _misses.set(0);
+    }
+
+    public int size() {
+        return _entries.size();
+    }
+
+    public void clear() {
+        _entries.clear();
+    }
+
+    /**
+     * Writes all entries to a file, least recently used first.
+     */
+    public void save(File file) throws IOException {
+        List<Map.Entry<Key, double[]>> entries = _entries.entries();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<Key, double[]> entry : entries) {
+                Key key = entry.getKey();
+                out.writeByte(key._kind);
+                out.writeByte(key._function);
+                out.writeByte(key._mode);
+                out.writeInt(key._n);
+                out.writeDouble(key._x);
+                out.writeDouble(entry.getValue()[0]);
+                out.writeDouble(entry.getValue()[1]);
+            }
+        }
+    }
+
+    /**
+     * Adds the prism layer entries of a saved cache; wall spacing entries
+     * of older files are skipped.
+     *
+     * @return Number of entries read
+     */
+    public int load(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a solve cache file: " + file);
+            }
+            int count = in.readInt();
+            int read = 0;
+            for (int i = 0; i < count; ++i) {
+                Key key = new Key(in.readByte(), in.readByte(), in.readByte(), in.readInt(), in.readDouble());
+                double[] value = {in.readDouble(), in.readDouble()};
+                if (key._kind == PRISM) {
+                    _entries.put(key, value);
+                    read++;
+                }
+            }
+            return read;
+        } catch (EOFException ex) {
+            throw new IOException("Truncated solve cache file: " + file, ex);
+        }
+    }
+
+    // ===============================================
+    // helper routines
+    // ===============================================
+
+    private static final class Key {
+
+        private final byte _kind;
+        private final byte _function;
+        private final byte _mode;
+        private final int _n;
+        private final double _x;
+
+        Key(int kind, int function, int mode, int n, double x) {
+            _kind = (byte) kind;
+            _function = (byte) function;
+            _mode = (byte) mode;
+            _n = n;
+            _x = x == 0.0 ? 0.0 : x; // -0.0 and 0.0 share an entry
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return _kind == other._kind && _function == other._function && _mode == other._mode
+                    && _n == other._n && Double.doubleToLongBits(_x) == Double.doubleToLongBits(other._x);
+        }
+
+        @Override
+        public int hashCode() {
+            long bits = Double.doubleToLongBits(_x);
+            int h = ((_kind * 31 + _function) * 31 + _mode) * 31 + _n;
+            return h * 31 + (int) (bits ^ (bits >>> 32));
+        }
+    }
+
+    private static Key prismKey(int function, int mode, int N, double totalThick, double given) {
+        double x = mode == PrismLayerMath.MODE_WALL_THICKNESS ? given / totalThick : given;
+        return new Key(PRISM, function, mode, N, x);
+    }
+
+    // near-wall thickness outputs are stored relative to the total thickness
+    private static void normalize(int mode, double totalThick, double[] value) {
+        if (mode == PrismLayerMath.MODE_STRETCH_FACTOR) {
+            value[0] /= totalThick;
+        } else if (mode == PrismLayerMath.MODE_THICKNESS_RATIO) {
+            value[1] /= totalThick;
+        }
+    }
+
+    private static void denormalize(int mode, double totalThick, double[] value) {
+        if (mode == PrismLayerMath.MODE_STRETCH_FACTOR) {
+            value[0] *= totalThick;
+        } else if (mode == PrismLayerMath.MODE_THICKNESS_RATIO) {
+            value[1] *= totalThick;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package Tools;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * Writes local wall spacing blocks to a CSV file as they arrive, e.g. as the
+ * input of a variable-spacing prism layer specification. Text is formatted
+ * on the calling worker thread; only the write itself is serialized. Rows
+ * carry the point index, since blocks arrive in no particular order.
+ */
+public class SpacingFileSink implements SpacingSink, Closeable {
+
+    private final Writer _out;
+    private IOException _error;
+    private long _count;
+
+    public SpacingFileSink(File file) throws IOException {
+        _out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), Charset.forName("US-ASCII")), 1 << 16);
+        _out.write(LocalWallSpacing.getCsvHeader());
+    }
+
+    @Override
+    public void accept(LocalWallSpacing.Block block) {
+        StringBuilder sb = new StringBuilder(160 * block.getCount());
+        block.appendCsv(sb);
+        synchronized (this) {
+            if (_error != null) {
+                return;
+            }
+            try {
+                _out.write(sb.toString());
+                _count += block.getCount();
+            } catch (IOException ex) {
+                _error = ex;
+            }
+        }
+    }
+
+    /**
+     * @return Number of points written so far
+     */
+    public synchronized long getCount() {
+        return _count;
+    }
+
+    /**
+     * Flushes and closes the file, reporting the first write error if any.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        _out.close();
+        if (_error != null) {
+            throw _error;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package Tools;
+
+/**
+ * Receives the local wall spacing of a surface point set block by block, as
+ * the blocks are finished. Blocks arrive from several worker threads at once
+ * and in no particular order, so sinks must be thread-safe and should use
+ * the point indices of a block to restore the surface order if needed.
+ */
+public interface SpacingSink {
+
+    /**
+     * @param block - finished block, valid only during the call
+     */
+    void accept(LocalWallSpacing.Block block);
+}
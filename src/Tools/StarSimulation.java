@@ -0,0 +1,389 @@
+package Tools;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import star.base.neo.DoubleVector;
+import star.base.neo.NeoObjectVector;
+import star.cadmodeler.CadFeatureManager;
+import star.cadmodeler.CadModel;
+import star.cadmodeler.CanonicalSketchPlane;
+import star.cadmodeler.DesignParameterManager;
+import star.cadmodeler.Feature;
+import star.cadmodeler.HorizontalDistanceDimension;
+import star.cadmodeler.LengthDimension;
+import star.cadmodeler.LineSketchPrimitive;
+import star.cadmodeler.LoftMergeFeature;
+import star.cadmodeler.PlaneByOffsetFeature;
+import star.cadmodeler.PointSketchPrimitive;
+import star.cadmodeler.ScalarQuantityDesignParameter;
+import star.cadmodeler.Sketch;
+import star.cadmodeler.SolidModelManager;
+import star.common.ConstantMaterialPropertyMethod;
+import star.common.Model;
+import star.common.PhysicsContinuum;
+import star.common.Simulation;
+import star.common.Units;
+import star.energy.ConstantSpecificHeat;
+import star.energy.SpecificHeatProperty;
+import star.energy.ThermalConductivityProperty;
+import star.flow.DynamicViscosityProperty;
+import star.flow.IdealGasModel;
+import star.flow.ReferencePressure;
+import star.material.Gas;
+import star.material.MaterialProperties;
+import star.material.MolecularWeightProperty;
+import star.material.SingleComponentGasModel;
+
+/**
+ * SimulationFacade of a STAR-CCM+ simulation, the default for the assistant
+ * tasks. Continua found to have an ideal gas model are remembered, so
+ * repeated updates confirm them with a single model lookup instead of
+ * rescanning their model managers; other continua are scanned every time,
+ * so a model enabled later is picked up.
+ *
+ * Besides the facade operations, the STAR-CCM+ objects behind them are
+ * available to the controllers, e.g. to select a node in the tree.
+ */
+public class StarSimulation implements SimulationFacade {
+
+    private final Simulation _sim;
+    // continua with an ideal gas model; weak keys drop deleted continua
+    private final Set<PhysicsContinuum> _gasContinua = Collections.newSetFromMap(new WeakHashMap<PhysicsContinuum, Boolean>());
+
+    public StarSimulation(Simulation sim) {
+        _sim = sim;
+    }
+
+    public Simulation getSimulation() {
+        return _sim;
+    }
+
+    @Override
+    public void println(String message) {
+        _sim.println(message);
+    }
+
+    @Override
+    public File getSessionDir() {
+        return new File(_sim.getSessionDir());
+    }
+
+    // ===============================================
+    // global parameters
+    // ===============================================
+
+    @Override
+    public List<String> getParameters(String[] names, double fallback, double[] values) {
+        return new ParameterAccess(_sim).getAll(names, fallback, values);
+    }
+
+    @Override
+    public int setParameters(String[] names, double[] values, double[] previous) {
+        return new ParameterAccess(_sim).setAll(names, values, previous);
+    }
+
+    // ===============================================
+    // physics continua
+    // ===============================================
+
+    @Override
+    public List<String> getGasContinua() {
+        List<String> names = new ArrayList<>();
+        for (PhysicsContinuum continuum : _sim.getContinuumManager().getObjectsOf(PhysicsContinuum.class)) {
+            if (checkForGasModel(continuum)) {
+                names.add(continuum.getPresentationName());
+            }
+        }
+        return names;
+    }
+
+    @Override
+    public double getReferencePressure(String continuum) {
+        return getContinuum(continuum).getReferenceValues().get(ReferencePressure.class).getInternalValue();
+    }
+
+    @Override
+    public double getMolarMass(String continuum) {
+        MaterialProperties properties = getGas(continuum).getMaterialProperties();
+        return ((ConstantMaterialPropertyMethod) properties.getMaterialProperty(MolecularWeightProperty.class).getMethod())
+                .getQuantity().getInternalValue();
+    }
+
+    @Override
+    public void setGasProperties(String continuum, double mu, double cp, double kappa) {
+        MaterialProperties properties = getGas(continuum).getMaterialProperties();
+        ((ConstantMaterialPropertyMethod) properties.getMaterialProperty(DynamicViscosityProperty.class).getMethod())
+                .getQuantity().setValue(mu);
+        ((ConstantSpecificHeat) properties.getMaterialProperty(SpecificHeatProperty.class).getMethod())
+                .getQuantity().setValue(cp);
+        ((ConstantMaterialPropertyMethod) properties.getMaterialProperty(ThermalConductivityProperty.class).getMethod())
+                .getQuantity().setValue(kappa);
+    }
+
+    /**
+     * @return true if the continuum has an ideal gas model
+     */
+    public boolean checkForGasModel(PhysicsContinuum continuum) {
+        // known gas continua only need the model to be still there
+        if (_gasContinua.contains(continuum)) {
+            if (continuum.getModelManager().getModel(IdealGasModel.class) != null) {
+                return true;
+            }
+            _gasContinua.remove(continuum);
+            return false;
+        }
+
+        for (Model model : continuum.getModelManager().getObjects()) {
+            if (model instanceof IdealGasModel) {
+                _gasContinua.add(continuum);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param name - continuum name
+     * @return The physics continuum
+     * @throws IllegalArgumentException if there is no such continuum
+     */
+    public PhysicsContinuum getContinuum(String name) {
+        for (PhysicsContinuum continuum : _sim.getContinuumManager().getObjectsOf(PhysicsContinuum.class)) {
+            if (continuum.getPresentationName().equals(name)) {
+                return continuum;
+            }
+        }
+        throw new IllegalArgumentException("No physics continuum " + name);
+    }
+
+    /**
+     * @param continuum - continuum name
+     * @return The single component gas of the continuum
+     * @throws IllegalArgumentException if the continuum has none
+     */
+    public Gas getGas(String continuum) {
+        PhysicsContinuum physics = getContinuum(continuum);
+        SingleComponentGasModel gasModel = physics.getModelManager().getModel(SingleComponentGasModel.class);
+        if (gasModel == null) {
+            // models changed since the continuum was checked
+            _gasContinua.remove(physics);
+            throw new IllegalArgumentException("No single component gas in " + continuum);
+        }
+        return (Gas) gasModel.getMaterial();
+    }
+
+    // ===============================================
+    // 3D-CAD
+    // ===============================================
+
+    @Override
+    public void createRectangularDomain(String cadName) {
+        CadModel cadModel_0 = getCadModel(cadName);
+        CanonicalSketchPlane canonicalSketchPlane_0 = ((CanonicalSketchPlane) cadModel_0.getFeature("XY"));
+
+        // build sketch
+        Sketch sketch_0 = cadModel_0.getFeatureManager().createSketch(canonicalSketchPlane_0);
+        sketch_0.setPresentationName("Sketch: Rectangular Farfield");
+        cadModel_0.getFeatureManager().startSketchEdit(sketch_0);
+        Units units_m = _sim.getUnitsManager().getUnits("m");
+
+        // create points for sketch
+        PointSketchPrimitive point_0 = sketch_0.createPoint(new DoubleVector(new double[]{ 0.0, 0.0}));
+        PointSketchPrimitive point_1 = sketch_0.createPoint(new DoubleVector(new double[]{-1.0, 0.0}));
+        PointSketchPrimitive point_2 = sketch_0.createPoint(new DoubleVector(new double[]{-1.0, 1.0}));
+        PointSketchPrimitive point_3 = sketch_0.createPoint(new DoubleVector(new double[]{ 1.0, 1.0}));
+        PointSketchPrimitive point_4 = sketch_0.createPoint(new DoubleVector(new double[]{ 1.0,-1.0}));
+        PointSketchPrimitive point_5 = sketch_0.createPoint(new DoubleVector(new double[]{-1.0,-1.0}));
+
+        // make lines
+        LineSketchPrimitive lineSketchPrimitive_0 = sketch_0.createLine(point_0, point_1);
+        sketch_0.createHorizontalConstraint(lineSketchPrimitive_0);
+        LineSketchPrimitive lineSketchPrimitive_1 = sketch_0.createLine(point_1, point_2);
+        sketch_0.createVerticalConstraint(lineSketchPrimitive_1);
+        LineSketchPrimitive lineSketchPrimitive_2 = sketch_0.createLine(point_2, point_3);
+        sketch_0.createHorizontalConstraint(lineSketchPrimitive_2);
+        LineSketchPrimitive lineSketchPrimitive_3 = sketch_0.createLine(point_3, point_4);
+        sketch_0.createVerticalConstraint(lineSketchPrimitive_3);
+        LineSketchPrimitive lineSketchPrimitive_4 = sketch_0.createLine(point_4, point_5);
+        sketch_0.createHorizontalConstraint(lineSketchPrimitive_4);
+        LineSketchPrimitive lineSketchPrimitive_5 = sketch_0.createLine(point_5, point_1);
+        sketch_0.createVerticalConstraint(lineSketchPrimitive_5);
+
+        // add constraints
+        sketch_0.createFixationConstraint(point_0);
+        sketch_0.setConstructionState(new NeoObjectVector(new Object[]{lineSketchPrimitive_0}), true);
+        sketch_0.createEqualLengthConstraint(lineSketchPrimitive_1, lineSketchPrimitive_5);
+
+        // create dimensions
+        LengthDimension lengthDimension_0 = sketch_0.createLengthDimension(lineSketchPrimitive_0, 1.0, units_m);
+        lengthDimension_0.getLength().createDesignParameter("L_up");
+
+        HorizontalDistanceDimension horizontalDistanceDimension_0 = sketch_0.createHorizontalDistanceDimension(point_0, point_3, 1.0, units_m);
+        horizontalDistanceDimension_0.getDistance().createDesignParameter("L_down");
+
+        LengthDimension lengthDimension_1 = sketch_0.createLengthDimension(lineSketchPrimitive_1, 1.0, units_m);
+        lengthDimension_1.getLength().createDesignParameter("HalfHeight");
+
+        // end sketch
+        sketch_0.markFeatureForEdit();
+        cadModel_0.getFeatureManager().stopSketchEdit(sketch_0, true);
+        sketch_0.setIsUptoDate(true);
+        cadModel_0.getFeatureManager().rollForwardToEnd();
+    }
+
+    @Override
+    public void setDesignParameters(String cadName, String[] names, double[] values, double[] previous) {
+        if (values.length < names.length) {
+            throw new IllegalArgumentException("Expected " + names.length + " values, got " + values.length);
+        }
+        CadModel cadModel_0 = getCadModel(cadName);
+        DesignParameterManager manager = cadModel_0.getDesignParameterManager();
+
+        // look all of them up before changing any
+        ScalarQuantityDesignParameter[] parameters = new ScalarQuantityDesignParameter[names.length];
+        for (int i = 0; i < names.length; ++i) {
+            if (!manager.has(names[i])) {
+                throw new IllegalArgumentException("No design parameter " + names[i] + " in 3D-CAD model " + cadName);
+            }
+            parameters[i] = (ScalarQuantityDesignParameter) manager.getObject(names[i]);
+        }
+
+        // one update, one regeneration; values are in m whatever the display units
+        Units units_m = _sim.getUnitsManager().getUnits("m");
+        for (int i = 0; i < names.length; ++i) {
+            if (previous != null) {
+                previous[i] = parameters[i].getQuantity().getInternalValue();
+            }
+            parameters[i].getQuantity().setValueAndUnits(values[i], units_m);
+        }
+        cadModel_0.getFeatureManager().rollForwardToEnd();
+    }
+
+    @Override
+    public void createSketch(String cadName, String sketchName, List<Section> sections) {
+        sketch(cadName, sketchName, sections);
+    }
+
+    @Override
+    public void createLoft(String cadName, String loftName, String[] planeNames, String[] sketchNames,
+            double[] offsets, List<Section> sections) {
+        loft(cadName, loftName, planeNames, sketchNames, offsets, sections);
+    }
+
+    /**
+     * createSketch(), returning the sketch.
+     */
+    public Sketch sketch(String cadName, String sketchName, List<Section> sections) {
+        CadModel cadModel_0 = getCadModel(cadName);
+        CanonicalSketchPlane canonicalSketchPlane_0 = ((CanonicalSketchPlane) cadModel_0.getFeature("XY"));
+        Sketch sketch_0 = cadModel_0.getFeatureManager().createSketch(canonicalSketchPlane_0);
+        if (sketchName != null) {
+            sketch_0.setPresentationName(sketchName);
+        }
+
+        // one edit transaction for all sections
+        cadModel_0.getFeatureManager().startSketchEdit(sketch_0);
+        for (Section section : sections) {
+            addBluntSection(sketch_0, section);
+        }
+
+        // finalize with a single roll forward
+        sketch_0.markFeatureForEdit();
+        cadModel_0.getFeatureManager().stopSketchEdit(sketch_0, true);
+        sketch_0.setIsUptoDate(true);
+        cadModel_0.getFeatureManager().rollForwardToEnd();
+
+        return sketch_0;
+    }
+
+    /**
+     * createLoft(), returning the loft. Not yet checked against a loft macro
+     * recorded in STAR-CCM+, so no assistant action uses it.
+     */
+    public LoftMergeFeature loft(String cadName, String loftName, String[] planeNames, String[] sketchNames,
+            double[] offsets, List<Section> sections) {
+        int n = sections.size();
+        if (planeNames.length != n || sketchNames.length != n || offsets.length != n) {
+            throw new IllegalArgumentException("Expected a plane name, sketch name and offset per section");
+        }
+        CadModel cadModel_0 = getCadModel(cadName);
+        CadFeatureManager features = cadModel_0.getFeatureManager();
+        CanonicalSketchPlane canonicalSketchPlane_0 = ((CanonicalSketchPlane) cadModel_0.getFeature("XY"));
+        Units units_m = _sim.getUnitsManager().getUnits("m");
+
+        // one plane and sketch per section, coordinates are already placed
+        List<Sketch> sketches = new ArrayList<>(sections.size());
+        for (int i = 0; i < sections.size(); ++i) {
+            Feature plane = canonicalSketchPlane_0;
+            if (offsets[i] != 0.0) {
+                PlaneByOffsetFeature offsetPlane = features.createPlaneByOffset(canonicalSketchPlane_0, offsets[i], units_m);
+                offsetPlane.setPresentationName(planeNames[i]);
+                plane = offsetPlane;
+            }
+            Sketch sketch_0 = features.createSketch(plane);
+            sketch_0.setPresentationName(sketchNames[i]);
+
+            features.startSketchEdit(sketch_0);
+            addBluntSection(sketch_0, sections.get(i));
+            sketch_0.markFeatureForEdit();
+            features.stopSketchEdit(sketch_0, true);
+            sketch_0.setIsUptoDate(true);
+            sketches.add(sketch_0);
+        }
+
+        // loft through the sections in the order of a recorded loft macro
+        // (preview on, part not made dirty, execute), then a single roll forward
+        LoftMergeFeature loft_0 = features.createLoftMerge(new NeoObjectVector(sketches.toArray()));
+        loft_0.setAutoPreview(true);
+        cadModel_0.allowMakingPartDirty(false);
+        try {
+            loft_0.setPresentationName(loftName);
+            loft_0.markFeatureForEdit();
+            features.execute(loft_0);
+            features.rollForwardToEnd();
+        } finally {
+            cadModel_0.allowMakingPartDirty(true);
+        }
+
+        return loft_0;
+    }
+
+    /**
+     * @param cadName - 3D-CAD model name
+     * @return The 3D-CAD model
+     * @throws IllegalArgumentException if there is no such model
+     */
+    public CadModel getCadModel(String cadName) {
+        CadModel cadModel_0 = (CadModel) _sim.get(SolidModelManager.class).getObject(cadName);
+        if (cadModel_0 == null) {
+            throw new IllegalArgumentException("No 3D-CAD model " + cadName);
+        }
+        return cadModel_0;
+    }
+
+    // ===============================================
+    // helper routines
+    // ===============================================
+
+    private static void addBluntSection(Sketch sketch, Section section) {
+        double[] xy = section.getCoordinates();
+        int last = xy.length - 2;
+
+        // build points for blunt TE
+        PointSketchPrimitive TE_upper_point = sketch.createPoint(new DoubleVector(new double[] {xy[0], xy[1]}));
+        PointSketchPrimitive TE_lower_point = sketch.createPoint(new DoubleVector(new double[] {xy[last], xy[last+1]}));
+
+        // connect with line (only vertical for un-rotated sections)
+        LineSketchPrimitive lineSketchPrimitive_1 = sketch.createLine(TE_upper_point, TE_lower_point);
+        if (section.isVerticalTE()) {
+            sketch.createVerticalConstraint(lineSketchPrimitive_1);
+        }
+
+        // build spline from the flat coordinate array in one allocation
+        sketch.createSpline(true, TE_upper_point, true, TE_lower_point, new DoubleVector(xy));
+    }
+}
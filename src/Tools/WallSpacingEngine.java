@@ -0,0 +1,235 @@
+package Tools;
+
+import java.io.IOException;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Near-wall spacing for whole tables of flow states (e.g. every point of a
+ * flight envelope), evaluated for all skin-friction correlations of
+ * SkinFriction at once. Free of STAR-CCM+ and Swing.
+ *
+ * The correlations are fused into one loop: per flow state the Reynolds
+ * number and its logarithm are computed once, and every correlation goes
+ * straight to 1/sqrt(Cf), which is all the near-wall thickness
+ *   nearWall = 2 targetYp mu / (rho U sqrt(Cf/2))
+ * needs:
+ *   Schlichting         - (2 log10 Re - 0.65)^1.15
+ *   Prandtl (1927)      - Re^0.1 / sqrt(0.074)
+ *   ITTC (1957)         - |log10 Re - 2| / sqrt(0.075)
+ *   Prandtl-Schlichting - (log10 Re)^1.29 / sqrt(0.455)
+ *   Karman-Schoenherr,
+ *   Colebrook (smooth)  - ImplicitSkinFriction tables in log10 Re
+ * The explicit results agree with SkinFriction to round-off, the implicit
+ * ones to the table accuracy (about 1e-12). Large tables are split into
+ * chunks on the shared fork-join pool.
+ *
+ * The spread of a flow state is (max - min) / mean of its near-wall
+ * thicknesses over the correlations, a measure of how much the choice of
+ * correlation matters there.
+ */
+public final class WallSpacingEngine {
+
+    private static final int LEAF_SIZE = 4096;
+
+    private static final double LN10 = Math.log(10.0);
+    private static final double INV_SQRT_PRANDTL = 1.0 / Math.sqrt(0.074);
+    private static final double INV_SQRT_ITTC = 1.0 / Math.sqrt(0.075);
+    private static final double INV_SQRT_PRANDTL_SCHLICHTING = 1.0 / Math.sqrt(0.455);
+    // nearWall = 2 / sqrt(Cf/2) * targetYp * mu / (rho U)
+    private static final double WALL_FACTOR = 2.0 * Math.sqrt(2.0);
+
+    private WallSpacingEngine() {
+    }
+
+    /**
+     * Near-wall thicknesses of a table of flow states.
+     */
+    public static final class Result {
+
+        private final double[] _reynolds;
+        private final double[][] _nearWall;
+        private final double[] _min;
+        private final double[] _max;
+        private final double[] _spread;
+
+        Result(int n) {
+            _reynolds = new double[n];
+            _nearWall = new double[SkinFriction.CORRELATIONS][n];
+            _min = new double[n];
+            _max = new double[n];
+            _spread = new double[n];
+        }
+
+        public int size() {
+            return _reynolds.length;
+        }
+
+        /**
+         * @return Reynolds number per flow state (read-only)
+         */
+        public double[] getReynolds() {
+            return _reynolds;
+        }
+
+        /**
+         * @param correlation - SkinFriction correlation index
+         * @return Near-wall thickness per flow state (read-only)
+         */
+        public double[] getNearWallThickness(int correlation) {
+            return _nearWall[correlation];
+        }
+
+        /**
+         * @return Smallest near-wall thickness over the correlations (read-only)
+         */
+        public double[] getMinimum() {
+            return _min;
+        }
+
+        /**
+         * @return Largest near-wall thickness over the correlations (read-only)
+         */
+        public double[] getMaximum() {
+            return _max;
+        }
+
+        /**
+         * @return (max - min) / mean over the correlations (read-only)
+         */
+        public double[] getSpread() {
+            return _spread;
+        }
+
+        /**
+         * Writes the table as CSV with one row per flow state.
+         *
+         * @param out - destination, e.g. a Writer or StringBuilder
+         */
+        public void writeCsv(Appendable out) throws IOException {
+            out.append("reynolds");
+            for (int c = 0; c < SkinFriction.CORRELATIONS; ++c) {
+                out.append(',').append(SkinFriction.getName(c));
+            }
+            out.append(",min,max,spread\n");
+            StringBuilder row = new StringBuilder(160);
+            for (int i = 0; i < _reynolds.length; ++i) {
+                row.setLength(0);
+                row.append(_reynolds[i]);
+                for (int c = 0; c < SkinFriction.CORRELATIONS; ++c) {
+                    row.append(',').append(_nearWall[c][i]);
+                }
+                row.append(',').append(_min[i]).append(',').append(_max[i]).append(',').append(_spread[i]).append('\n');
+                out.append(row);
+            }
+        }
+    }
+
+    /**
+     * Evaluates all correlations for every flow state. Input arrays hold one
+     * value per flow state or a single value shared by all of them.
+     *
+     * @param U - freestream velocity
+     * @param rho - density
+     * @param mu - dynamic viscosity
+     * @param Lref - reference length
+     * @param targetYp - target wall y+
+     * @return Near-wall thicknesses and spread per flow state
+     * @throws IllegalArgumentException if the array lengths do not match
+     */
+    public static Result evaluate(double[] U, double[] rho, double[] mu, double[] Lref, double[] targetYp) {
+        int n = Math.max(Math.max(Math.max(U.length, rho.length), Math.max(mu.length, Lref.length)), targetYp.length);
+        for (double[] input : new double[][]{U, rho, mu, Lref, targetYp}) {
+            if (input.length != n && input.length != 1) {
+                throw new IllegalArgumentException("Expected 1 or " + n + " values per input, got " + input.length);
+            }
+        }
+        Result result = new Result(n);
+        if (n > 0) {
+            ComputePool.get().invoke(new ChunkTask(U, rho, mu, Lref, targetYp, result, 0, n));
+        }
+        return result;
+    }
+
+    // ===============================================
+    // helper routines
+    // ===============================================
+
+    private static final class ChunkTask extends RecursiveAction {
+
+        private final double[] _U;
+        private final double[] _rho;
+        private final double[] _mu;
+        private final double[] _Lref;
+        private final double[] _targetYp;
+        private final Result _out;
+        private final int _from;
+        private final int _to;
+
+        ChunkTask(double[] U, double[] rho, double[] mu, double[] Lref, double[] targetYp,
+                Result out, int from, int to) {
+            _U = U;
+            _rho = rho;
+            _mu = mu;
+            _Lref = Lref;
+            _targetYp = targetYp;
+            _out = out;
+            _from = from;
+            _to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (_to - _from > LEAF_SIZE) {
+                int mid = (_from + _to) >>> 1;
+                invokeAll(new ChunkTask(_U, _rho, _mu, _Lref, _targetYp, _out, _from, mid),
+                        new ChunkTask(_U, _rho, _mu, _Lref, _targetYp, _out, mid, _to));
+                return;
+            }
+
+            // stride 0 broadcasts a single value
+            int sU = _U.length == 1 ? 0 : 1;
+            int sRho = _rho.length == 1 ? 0 : 1;
+            int sMu = _mu.length == 1 ? 0 : 1;
+            int sL = _Lref.length == 1 ? 0 : 1;
+            int sYp = _targetYp.length == 1 ? 0 : 1;
+            double[] schlichting = _out._nearWall[SkinFriction.SCHLICHTING];
+            double[] prandtl = _out._nearWall[SkinFriction.PRANDTL_1927];
+            double[] ittc = _out._nearWall[SkinFriction.ITTC_1957];
+            double[] prandtlSchlichting = _out._nearWall[SkinFriction.PRANDTL_SCHLICHTING_1932];
+            double[] karmanSchoenherr = _out._nearWall[SkinFriction.KARMAN_SCHOENHERR];
+            double[] colebrook = _out._nearWall[SkinFriction.COLEBROOK_SMOOTH];
+            ImplicitSkinFriction.Table ksTable = ImplicitSkinFriction.getTable(SkinFriction.KARMAN_SCHOENHERR);
+            ImplicitSkinFriction.Table cbTable = ImplicitSkinFriction.getTable(SkinFriction.COLEBROOK_SMOOTH);
+
+            for (int i = _from; i < _to; ++i) {
+                double U = _U[i * sU];
+                double rho = _rho[i * sRho];
+                double mu = _mu[i * sMu];
+                double Re = rho * U * _Lref[i * sL] / mu;
+                double lg = Math.log10(Re);
+                double scale = WALL_FACTOR * _targetYp[i * sYp] * mu / (rho * U);
+
+                double w0 = scale * Math.exp(1.15 * Math.log(2.0 * lg - 0.65));
+                double w1 = scale * INV_SQRT_PRANDTL * Math.exp(0.1 * LN10 * lg);
+                double w2 = scale * INV_SQRT_ITTC * Math.abs(lg - 2.0);
+                double w3 = scale * INV_SQRT_PRANDTL_SCHLICHTING * Math.exp(1.29 * Math.log(lg));
+                double w4 = scale * ksTable.inverseSqrtCf(lg);
+                double w5 = scale * cbTable.inverseSqrtCf(lg);
+
+                _out._reynolds[i] = Re;
+                schlichting[i] = w0;
+                prandtl[i] = w1;
+                ittc[i] = w2;
+                prandtlSchlichting[i] = w3;
+                karmanSchoenherr[i] = w4;
+                colebrook[i] = w5;
+
+                double min = Math.min(Math.min(Math.min(w0, w1), Math.min(w2, w3)), Math.min(w4, w5));
+                double max = Math.max(Math.max(Math.max(w0, w1), Math.max(w2, w3)), Math.max(w4, w5));
+                _out._min[i] = min;
+                _out._max[i] = max;
+                _out._spread[i] = (max - min) / ((w0 + w1 + w2 + w3 + w4 + w5) / SkinFriction.CORRELATIONS);
+            }
+        }
+    }
+}
@@ -13,9 +13,14 @@ import star.common.Simulation;
  */
 public class WallYpCalculator extends javax.swing.JFrame {
 
+    /** Quiet time after the last edit before the values are recalculated. */
+    private static final int LIVE_UPDATE_DELAY = 400;
+
     Simulation _sim;
     int _method;
     boolean _debug = false;
+    CalculatorExecutor _executor = new CalculatorExecutor("WallY+Calc");
+    CalculatorExecutor.Debouncer _liveUpdate;
 
     /**
      * Constructor for the wall y+ calculator.
@@ -26,9 +31,24 @@ public class WallYpCalculator extends javax.swing.JFrame {
         _sim = sim;
         _method = 0;
         initComponents();
+        initLiveUpdate();
         printUsageMessage();
     }
 
+    /**
+     * Recalculates the near-wall thickness in the background shortly after
+     * the user stops editing an input field.
+     */
+    private void initLiveUpdate() {
+        _liveUpdate = new CalculatorExecutor.Debouncer(LIVE_UPDATE_DELAY, new java.awt.event.ActionListener() {
+            @Override
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                calculate(false);
+            }
+        });
+        _liveUpdate.attach(freestreamVelocityBox, densityBox, viscosityBox, refLengthBox, targetYpBox);
+    }
+
     private void printUsageMessage() {
         _sim.println("");
         _sim.println("Welcome to the Wall Y+ Calculator!");
@@ -76,7 +96,9 @@ public class WallYpCalculator extends javax.swing.JFrame {
      * @param method 0 - Schlichting skin friction,
      *               1 - Prandtl (1927),            
      *               2 - ITTC (1957),              
-     *               3 - Prandtl-Schlichting (1932)
+     *               3 - Prandtl-Schlichting (1932),
+     *               4 - Karman-Schoenherr (implicit),
+     *               5 - Colebrook, smooth pipe (implicit)
      */
     public void setSkinFrictionMethod(int method) {
         _method = method;
@@ -90,6 +112,12 @@ public class WallYpCalculator extends javax.swing.JFrame {
             case 3: //Prandtl-Schlichting (1932)
                 log("Using the skin friction correlation of Prandtl-Schlichting (1932)");
                 break;
+            case 4: // Karman-Schoenherr
+                log("Using the skin friction correlation of Karman-Schoenherr");
+                break;
+            case 5: // Colebrook (smooth)
+                log("Using the smooth-pipe Colebrook correlation, the reference length is the hydraulic diameter");
+                break;
             default: //Schlichting skin-friction
                 log("Using the DEFAULT skin friction correlation, Schlichting (19XX)");
                 break;
@@ -106,6 +134,8 @@ public class WallYpCalculator extends javax.swing.JFrame {
         _sim.println("         1) Prandtl             (1927): 0.074*Math.pow( Re, -0.200 )");
         _sim.println("         2) ITTC                (1957): 0.075*Math.pow( Math.log10(Re)-2.000, -2.000 )");
         _sim.println("         3) Prandtl-Schlichting (1932): 0.455*Math.pow( Math.log10(Re), -2.580 )");
+        _sim.println("         4) Karman-Schoenherr         : 1/Math.sqrt(Cf) = 4.13*Math.log10( Re*Cf )");
+        _sim.println("         5) Colebrook (smooth pipe)   : 1/Math.sqrt(4*Cf) = -2*Math.log10( 2.51/(Re*Math.sqrt(4*Cf)) )");
         _sim.println("   default) Schlichting         (19XX): Math.pow( 2.000*Math.log10(Re)-0.650, -2.300)");
         _sim.println("");
     }
@@ -114,32 +144,6 @@ public class WallYpCalculator extends javax.swing.JFrame {
         log("You calculated a near-wall cell thickness of: " + String.format("%.3e", nearWall));
     }
 
-    /**
-     * Calculates the skin friction coefficient, taking into account the user
-     * specified correlation
-     * 
-     * @param Re - Reynolds number used in the correlation
-     * @return Cf - Skin friction coefficient
-     */
-    private double calculateCf(double Re) {
-        double Cf;
-        switch (_method) {
-            case 1: // Prandtl (1927)
-                Cf = 0.074 * Math.pow(Re, -0.2);
-                break;
-            case 2: // ITTC (1957)
-                Cf = 0.075 * Math.pow(Math.log10(Re) - 2.0, -2.0);
-                break;
-            case 3: //Prandtl-Schlichting (1932)
-                Cf = 0.455 * Math.pow(Math.log10(Re), -2.58);
-                break;
-            default: //Schlichting skin-friction
-                Cf = Math.pow(2.0 * Math.log10(Re) - 0.65, -2.30);
-                break;
-        }
-        return Cf;
-    }
-
     private void updateTextValues(double Re, double nearWall) {
         reynoldsBox.setText(String.format("%.3e", Re));
         nearWallThicknessBox.setText(String.format("%.3e", nearWall));
@@ -182,6 +186,11 @@ public class WallYpCalculator extends javax.swing.JFrame {
         calculateButton = new javax.swing.JButton();
 
         setDefaultCloseOperation(javax.swing.WindowConstants.DISPOSE_ON_CLOSE);
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            public void windowClosing(java.awt.event.WindowEvent evt) {
+                formWindowClosing(evt);
+            }
+        });
         setLocationByPlatform(true);
         setMinimumSize(new java.awt.Dimension(445, 350));
 
@@ -344,33 +353,86 @@ public class WallYpCalculator extends javax.swing.JFrame {
     }// </editor-fold>                                                                          
 
     private void closeButtonActionPerformed(java.awt.event.ActionEvent evt) {
+        shutdown();
         setVisible(false);
     }
 
+    private void formWindowClosing(java.awt.event.WindowEvent evt) {
+        shutdown();
+    }
+
+    /**
+     * Stops live updates and the background executor, for the Close button
+     * and the window's close box alike.
+     */
+    private void shutdown() {
+        _liveUpdate.stop();
+        _executor.shutdown();
+    }
+
     private void calculateButtonActionPerformed(java.awt.event.ActionEvent evt) {
-        double Re, nearWall;
-        double U, rho, mu, Lref, targetYp;
-        double Cf;
+        calculate(true);
+    }
+
+    /**
+     * Reads the inputs on the event thread and calculates the near-wall
+     * spacing on the background executor, replacing any calculation still
+     * in progress.
+     * 
+     * @param interactive - true for a button press: invalid inputs are
+     *                      logged and the result is printed
+     */
+    private void calculate(final boolean interactive) {
+        final double U, rho, mu, Lref, targetYp;
+        final int method = _method;
 
         // get values from frame
-        U = getFreestreamVelocity();
-        rho = getDensity();
-        mu = getDynamicViscosity();
-        Lref = getReferenceLength();
-        targetYp = getTargetWallYp();
-
-        // calculate Re and Cf
-        Re = rho * U * Lref / mu;
-        Cf = calculateCf(Re);
-        // U_tau = U*Math.sqrt( 0.5*Cf );
-
-        // calculate near wall spacing
-        //   *)factor of 2.0 to take into account that wall to cell-centroid 
-        //     distance is half the near-wall layer thickness
-        nearWall = 2.0 * targetYp * mu / (rho * U * Math.sqrt(0.5 * Cf));
-
-        updateTextValues(Re, nearWall);
-        printNearWallThickness(nearWall);
+        try {
+            U = getFreestreamVelocity();
+            rho = getDensity();
+            mu = getDynamicViscosity();
+            Lref = getReferenceLength();
+            targetYp = getTargetWallYp();
+        } catch (NumberFormatException ex) {
+            // incomplete values are normal while typing
+            if (interactive) {
+                log("Invalid input: " + ex.getMessage());
+            }
+            return;
+        }
+
+        _executor.submit(new CalculatorExecutor.Job<double[]>() {
+            @Override
+            protected double[] compute(CalculatorExecutor.Progress progress) {
+                // calculate Re and Cf
+                double Re = rho * U * Lref / mu;
+                double Cf = SkinFriction.calculateCf(method, Re);
+
+                // calculate near wall spacing
+                //   *)factor of 2.0 to take into account that wall to cell-centroid 
+                //     distance is half the near-wall layer thickness
+                double nearWall = SkinFriction.nearWallThickness(Cf, targetYp, U, rho, mu);
+
+                // a superseded calculation neither logs nor delivers its result
+                if (progress.isCancelled()) {
+                    return null;
+                }
+                if (interactive) {
+                    printNearWallThickness(nearWall);
+                }
+                return new double[]{Re, nearWall};
+            }
+
+            @Override
+            protected void done(double[] result) {
+                updateTextValues(result[0], result[1]);
+            }
+
+            @Override
+            protected void failed(Throwable cause) {
+                log("Calculation failed: " + cause);
+            }
+        });
     }
 
     // Variables declaration - do not modify                     
@@ -0,0 +1,155 @@
+package Tools;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evaluates the spanwise sections of a WingPlanform in parallel on the shared
+ * fork-join pool. Every station is generated (or served from AirfoilCache,
+ * except for interpolated sections), scaled, twisted and offset into its
+ * section plane, so the 3D-CAD side only has to create the sketches and the
+ * loft.
+ */
+public final class WingLoftGenerator {
+
+    private static final int LEAF_SIZE = 4;
+
+    private WingLoftGenerator() {
+    }
+
+    /**
+     * A placed spanwise section.
+     */
+    public static final class Station {
+
+        private final int _index;
+        private final String _designation;
+        private final double _spanPosition;
+        private final AirfoilSection _section;
+        private final double[] _xy;
+
+        Station(int index, String designation, double spanPosition, AirfoilSection section, double[] xy) {
+            _index = index;
+            _designation = designation;
+            _spanPosition = spanPosition;
+            _section = section;
+            _xy = xy;
+        }
+
+        public int getIndex() {
+            return _index;
+        }
+
+        public String getDesignation() {
+            return _designation;
+        }
+
+        /**
+         * @return Distance of the section plane from the root plane
+         */
+        public double getSpanPosition() {
+            return _spanPosition;
+        }
+
+        public AirfoilSection getSection() {
+            return _section;
+        }
+
+        /**
+         * @return Placed in-plane coordinates {x0, y0, x1, y1, ...} (read-only)
+         */
+        public double[] getPlacedCoordinates() {
+            return _xy;
+        }
+    }
+
+    /**
+     * Stations of a generated wing, root first.
+     */
+    public static final class Result {
+
+        private final List<Station> _stations;
+        private final long _elapsedNanos;
+
+        Result(Station[] stations, long elapsedNanos) {
+            _stations = Collections.unmodifiableList(Arrays.asList(stations));
+            _elapsedNanos = elapsedNanos;
+        }
+
+        public List<Station> getStations() {
+            return _stations;
+        }
+
+        public double getElapsedSeconds() {
+            return _elapsedNanos * 1.0e-9;
+        }
+    }
+
+    /**
+     * Generates all stations of the planform on the default chordwise stations.
+     *
+     * @param planform - wing planform
+     * @return Generated stations
+     */
+    public static Result generate(WingPlanform planform) {
+        return generate(planform, ChordwiseDistribution.getDefault());
+    }
+
+    /**
+     * Generates all stations of the planform in parallel.
+     *
+     * @param planform - wing planform
+     * @param distribution - chordwise station distribution of every section
+     * @return Generated stations
+     */
+    public static Result generate(WingPlanform planform, ChordwiseDistribution distribution) {
+        long start = System.nanoTime();
+        Station[] stations = new Station[planform.getStationCount()];
+        ComputePool.get().invoke(new StationTask(planform, distribution, stations, 0, stations.length));
+        return new Result(stations, System.nanoTime() - start);
+    }
+
+    // ===============================================
+    // helper routines
+    // ===============================================
+
+    private static final class StationTask extends RecursiveAction {
+
+        private final WingPlanform _planform;
+        private final ChordwiseDistribution _distribution;
+        private final Station[] _out;
+        private final int _from;
+        private final int _to;
+
+        StationTask(WingPlanform planform, ChordwiseDistribution distribution, Station[] out, int from, int to) {
+            _planform = planform;
+            _distribution = distribution;
+            _out = out;
+            _from = from;
+            _to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (_to - _from <= LEAF_SIZE) {
+                AirfoilCache cache = AirfoilCache.getDefault();
+                for (int i = _from; i < _to; ++i) {
+                    AirfoilSpec spec = _planform.getSpec(i);
+                    String name = spec.getDesignation();
+                    AirfoilProfile profile = NacaValidator.isValid(name) ? cache.getProfile(name, _distribution)
+                            : AirfoilProfile.generate(spec, _distribution.stations(spec));
+                    AirfoilSection section = new AirfoilSection(profile,
+                            _planform.getLeadingEdgeX(i), _planform.getLeadingEdgeY(i),
+                            _planform.getChord(i), _planform.getTwist(i));
+                    _out[i] = new Station(i, name, _planform.getSpanPosition(i), section, section.placeInterleaved());
+                }
+            } else {
+                int mid = (_from + _to) >>> 1;
+                invokeAll(new StationTask(_planform, _distribution, _out, _from, mid),
+                        new StationTask(_planform, _distribution, _out, mid, _to));
+            }
+        }
+    }
+}
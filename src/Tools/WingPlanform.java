@@ -0,0 +1,172 @@
+package Tools;
+
+/**
+ * Straight-tapered wing planform, described by its spanwise stations. Each
+ * station is a NACA section on a plane parallel to the root plane, at
+ * spanwise distance eta*semiSpan from the root.
+ *
+ * Chord, twist, sweep offset and dihedral rise vary linearly from root to
+ * tip; sweep is measured at the leading edge and twist is applied about the
+ * leading edge of every section (positive is nose up, so washout is a tip
+ * twist below the root twist).
+ *
+ * Section designations are given per station, as a root/tip pair or as a
+ * single designation for the whole wing. For a root/tip pair of the same
+ * family (e.g. 2415 and 2409) the thickness is interpolated along the span,
+ * exactly rather than to whole percentages (see AirfoilSpec.withThickness);
+ * otherwise each station takes the nearer of the two designations.
+ */
+public final class WingPlanform {
+
+    private final double _semiSpan;
+    private final double _rootChord;
+    private final double _taper;
+    private final double _sweep;
+    private final double _dihedral;
+    private final double _rootTwist;
+    private final double _tipTwist;
+    private final int _stations;
+    private final String[] _designations;
+
+    /**
+     * @param semiSpan - distance from the root to the tip section
+     * @param rootChord - root chord length
+     * @param taper - tip chord / root chord
+     * @param sweep - leading-edge sweep angle in degrees
+     * @param dihedral - dihedral angle in degrees
+     * @param rootTwist - root incidence in degrees, nose up
+     * @param tipTwist - tip incidence in degrees, nose up
+     * @param stations - number of spanwise stations including root and tip
+     * @param designations - one designation, a root/tip pair or one per station
+     * @throws IllegalArgumentException if the planform is degenerate or a designation is invalid
+     */
+    public WingPlanform(double semiSpan, double rootChord, double taper, double sweep, double dihedral,
+            double rootTwist, double tipTwist, int stations, String... designations) {
+        if (!(semiSpan > 0.0) || !(rootChord > 0.0) || !(taper > 0.0)) {
+            throw new IllegalArgumentException("Span, root chord and taper ratio must be positive");
+        }
+        if (Math.abs(sweep) >= 90.0 || Math.abs(dihedral) >= 90.0) {
+            throw new IllegalArgumentException("Sweep and dihedral must be below 90 degrees");
+        }
+        if (stations < 2) {
+            throw new IllegalArgumentException("A wing needs at least 2 stations, got " + stations);
+        }
+        int n = designations.length;
+        if (n != 1 && n != 2 && n != stations) {
+            throw new IllegalArgumentException("Expected 1, 2 or " + stations + " designations, got " + n);
+        }
+        for (String name : designations) {
+            if (!NacaValidator.isValid(name)) {
+                throw new IllegalArgumentException("Invalid NACA designation: " + name);
+            }
+        }
+        _semiSpan = semiSpan;
+        _rootChord = rootChord;
+        _taper = taper;
+        _sweep = sweep;
+        _dihedral = dihedral;
+        _rootTwist = rootTwist;
+        _tipTwist = tipTwist;
+        _stations = stations;
+        _designations = designations.clone();
+    }
+
+    public double getSemiSpan() {
+        return _semiSpan;
+    }
+
+    public double getRootChord() {
+        return _rootChord;
+    }
+
+    public double getTaper() {
+        return _taper;
+    }
+
+    public int getStationCount() {
+        return _stations;
+    }
+
+    /**
+     * @param i - station index, 0 at the root
+     * @return Relative spanwise position, 0 at the root and 1 at the tip
+     */
+    public double getEta(int i) {
+        return (double) i / (double) (_stations - 1);
+    }
+
+    /**
+     * @param i - station index, 0 at the root
+     * @return Distance of the section plane from the root plane
+     */
+    public double getSpanPosition(int i) {
+        return getEta(i) * _semiSpan;
+    }
+
+    public double getChord(int i) {
+        return _rootChord * (1.0 - (1.0 - _taper) * getEta(i));
+    }
+
+    public double getTwist(int i) {
+        return _rootTwist + (_tipTwist - _rootTwist) * getEta(i);
+    }
+
+    /**
+     * @return Leading-edge offset in chord direction due to sweep
+     */
+    public double getLeadingEdgeX(int i) {
+        return getSpanPosition(i) * Math.tan(Math.toRadians(_sweep));
+    }
+
+    /**
+     * @return Leading-edge offset normal to the chord due to dihedral
+     */
+    public double getLeadingEdgeY(int i) {
+        return getSpanPosition(i) * Math.tan(Math.toRadians(_dihedral));
+    }
+
+    /**
+     * @param i - station index, 0 at the root
+     * @return NACA designation of the station section, with a fractional
+     * thickness for interpolated sections
+     */
+    public String getDesignation(int i) {
+        return getSpec(i).getDesignation();
+    }
+
+    /**
+     * @param i - station index, 0 at the root
+     * @return Specification of the station section
+     */
+    public AirfoilSpec getSpec(int i) {
+        AirfoilCache cache = AirfoilCache.getDefault();
+        if (_designations.length == 1) {
+            return cache.getSpec(_designations[0]);
+        }
+        if (_designations.length == _stations) {
+            return cache.getSpec(_designations[i]);
+        }
+        return blend(cache.getSpec(_designations[0]), cache.getSpec(_designations[1]), getEta(i));
+    }
+
+    // ===============================================
+    // helper routines
+    // ===============================================
+
+    // thickness (last two digits) is interpolated within one family
+    private static AirfoilSpec blend(AirfoilSpec root, AirfoilSpec tip, double eta) {
+        String r = root.getDesignation();
+        String t = tip.getDesignation();
+        int len = r.length();
+        if (len == t.length() && r.regionMatches(0, t, 0, len - 2)) {
+            if (eta == 0.0 || root.getT() == tip.getT()) {
+                return root;
+            }
+            if (eta == 1.0) {
+                return tip;
+            }
+            return root.withThickness(root.getT() + (tip.getT() - root.getT()) * eta);
+        }
+        return eta < 0.5 ? root : tip;
+    }
+}